@@ -1,5 +1,6 @@
 package com.userprocessor.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
@@ -8,7 +9,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
-import javax.sql.DataSource;
 import java.net.URI;
 
 @Configuration
@@ -80,11 +80,12 @@ public class DatabaseConfig {
 
     @Bean
     @Primary
-    public DataSource dataSource(DataSourceProperties properties) {
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
         logger.info("=== CREATING DATASOURCE BEAN ===");
         logger.info("Final JDBC URL: {}", properties.getUrl());
         logger.info("Final Username: {}", properties.getUsername());
         
-        return properties.initializeDataSourceBuilder().build();
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 }
@@ -0,0 +1,28 @@
+package com.userprocessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportConfig {
+
+    private long parquetMemoryBudget = 64L * 1024 * 1024;
+    private int parquetPageSize = 1024 * 1024;
+
+    public long getParquetMemoryBudget() {
+        return parquetMemoryBudget;
+    }
+
+    public void setParquetMemoryBudget(long parquetMemoryBudget) {
+        this.parquetMemoryBudget = parquetMemoryBudget;
+    }
+
+    public int getParquetPageSize() {
+        return parquetPageSize;
+    }
+
+    public void setParquetPageSize(int parquetPageSize) {
+        this.parquetPageSize = parquetPageSize;
+    }
+}
@@ -20,7 +20,8 @@ public class FilterConfig {
     public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration() {
         FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(rateLimitingFilter);
-        registration.addUrlPatterns("/api/users/upload");
+        registration.addUrlPatterns("/api/users/upload", "/api/users/upload/stream", "/api/users/upload/batch",
+            "/api/users/upload/validate", "/api/users/upload/preflight", "/api/users/upload/sync");
         registration.setName("rateLimitingFilter");
         registration.setOrder(1);
         return registration;
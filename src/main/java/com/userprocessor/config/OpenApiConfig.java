@@ -35,7 +35,7 @@ public class OpenApiConfig {
                 .title("User Data Processor API")
                 .version("1.0.0")
                 .contact(contact)
-                .description("A robust Spring Boot application for processing and storing user data from multiple file formats (CSV, JSON, XML) with comprehensive validation, error handling, and flexible output formatting.")
+                .description("A robust Spring Boot application for processing and storing user data from multiple file formats (CSV, JSON, NDJSON, XML, Parquet) with comprehensive validation, error handling, and flexible output formatting.")
                 .termsOfService("https://userprocessor.com/terms")
                 .license(mitLicense);
 
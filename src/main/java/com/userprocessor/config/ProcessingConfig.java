@@ -12,6 +12,31 @@ public class ProcessingConfig {
     private boolean skipDuplicateEmails = true;
     private boolean validateEmailFormat = true;
     private boolean allowEmptyFields = false;
+    private int summarySampleSize = 5;
+    private int parseParallelism = 0;
+    private int parseChunkSize = 1024 * 1024;
+    private int maxLineBytes = 1024 * 1024;
+    private int batchParallelism = 4;
+    private int maxBatchFiles = 50;
+    private int preflightSampleSize = 100;
+    private int maxPreflightSampleSize = 10000;
+    private boolean csvVectorScan = true;
+    private long mappedMinFileSize = 8 * 1024 * 1024;
+    private int insertBatchSize = 500;
+    private boolean pipelineEnabled = true;
+    private int pipelineRingSize = 4096;
+    private int persistWorkers = 1;
+    private boolean adaptiveBatchSize = true;
+    private int minInsertBatchSize = 50;
+    private int maxInsertBatchSize = 2000;
+    private int insertBatchIncrement = 50;
+    private long insertLatencyTargetMs = 250;
+    private int transientRetryAttempts = 3;
+    private long transientRetryBackoffMs = 100;
+    private long transientRetryMaxBackoffMs = 2000;
+    private long transientRetryDeadlineMs = 30000;
+    private int sortRunSize = 100000;
+    private int sortMergeFanIn = 64;
 
     public long getMaxFileSize() {
         return maxFileSize;
@@ -52,4 +77,204 @@ public class ProcessingConfig {
     public void setAllowEmptyFields(boolean allowEmptyFields) {
         this.allowEmptyFields = allowEmptyFields;
     }
+
+    public int getSummarySampleSize() {
+        return summarySampleSize;
+    }
+
+    public void setSummarySampleSize(int summarySampleSize) {
+        this.summarySampleSize = summarySampleSize;
+    }
+
+    public int getParseParallelism() {
+        return parseParallelism;
+    }
+
+    public void setParseParallelism(int parseParallelism) {
+        this.parseParallelism = parseParallelism;
+    }
+
+    public int getParseChunkSize() {
+        return parseChunkSize;
+    }
+
+    public void setParseChunkSize(int parseChunkSize) {
+        this.parseChunkSize = parseChunkSize;
+    }
+
+    public int getMaxLineBytes() {
+        return maxLineBytes;
+    }
+
+    public void setMaxLineBytes(int maxLineBytes) {
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    public int getMaxBatchFiles() {
+        return maxBatchFiles;
+    }
+
+    public void setMaxBatchFiles(int maxBatchFiles) {
+        this.maxBatchFiles = maxBatchFiles;
+    }
+
+    public int getPreflightSampleSize() {
+        return preflightSampleSize;
+    }
+
+    public void setPreflightSampleSize(int preflightSampleSize) {
+        this.preflightSampleSize = preflightSampleSize;
+    }
+
+    public int getMaxPreflightSampleSize() {
+        return maxPreflightSampleSize;
+    }
+
+    public void setMaxPreflightSampleSize(int maxPreflightSampleSize) {
+        this.maxPreflightSampleSize = maxPreflightSampleSize;
+    }
+
+    public boolean isCsvVectorScan() {
+        return csvVectorScan;
+    }
+
+    public void setCsvVectorScan(boolean csvVectorScan) {
+        this.csvVectorScan = csvVectorScan;
+    }
+
+    public long getMappedMinFileSize() {
+        return mappedMinFileSize;
+    }
+
+    public void setMappedMinFileSize(long mappedMinFileSize) {
+        this.mappedMinFileSize = mappedMinFileSize;
+    }
+
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    public boolean isPipelineEnabled() {
+        return pipelineEnabled;
+    }
+
+    public void setPipelineEnabled(boolean pipelineEnabled) {
+        this.pipelineEnabled = pipelineEnabled;
+    }
+
+    public int getPipelineRingSize() {
+        return pipelineRingSize;
+    }
+
+    public void setPipelineRingSize(int pipelineRingSize) {
+        this.pipelineRingSize = pipelineRingSize;
+    }
+
+    public int getPersistWorkers() {
+        return persistWorkers;
+    }
+
+    public void setPersistWorkers(int persistWorkers) {
+        this.persistWorkers = persistWorkers;
+    }
+
+    public boolean isAdaptiveBatchSize() {
+        return adaptiveBatchSize;
+    }
+
+    public void setAdaptiveBatchSize(boolean adaptiveBatchSize) {
+        this.adaptiveBatchSize = adaptiveBatchSize;
+    }
+
+    public int getMinInsertBatchSize() {
+        return minInsertBatchSize;
+    }
+
+    public void setMinInsertBatchSize(int minInsertBatchSize) {
+        this.minInsertBatchSize = minInsertBatchSize;
+    }
+
+    public int getMaxInsertBatchSize() {
+        return maxInsertBatchSize;
+    }
+
+    public void setMaxInsertBatchSize(int maxInsertBatchSize) {
+        this.maxInsertBatchSize = maxInsertBatchSize;
+    }
+
+    public int getInsertBatchIncrement() {
+        return insertBatchIncrement;
+    }
+
+    public void setInsertBatchIncrement(int insertBatchIncrement) {
+        this.insertBatchIncrement = insertBatchIncrement;
+    }
+
+    public long getInsertLatencyTargetMs() {
+        return insertLatencyTargetMs;
+    }
+
+    public void setInsertLatencyTargetMs(long insertLatencyTargetMs) {
+        this.insertLatencyTargetMs = insertLatencyTargetMs;
+    }
+
+    public int getTransientRetryAttempts() {
+        return transientRetryAttempts;
+    }
+
+    public void setTransientRetryAttempts(int transientRetryAttempts) {
+        this.transientRetryAttempts = transientRetryAttempts;
+    }
+
+    public long getTransientRetryBackoffMs() {
+        return transientRetryBackoffMs;
+    }
+
+    public void setTransientRetryBackoffMs(long transientRetryBackoffMs) {
+        this.transientRetryBackoffMs = transientRetryBackoffMs;
+    }
+
+    public long getTransientRetryMaxBackoffMs() {
+        return transientRetryMaxBackoffMs;
+    }
+
+    public void setTransientRetryMaxBackoffMs(long transientRetryMaxBackoffMs) {
+        this.transientRetryMaxBackoffMs = transientRetryMaxBackoffMs;
+    }
+
+    public long getTransientRetryDeadlineMs() {
+        return transientRetryDeadlineMs;
+    }
+
+    public void setTransientRetryDeadlineMs(long transientRetryDeadlineMs) {
+        this.transientRetryDeadlineMs = transientRetryDeadlineMs;
+    }
+
+    public int getSortRunSize() {
+        return sortRunSize;
+    }
+
+    public void setSortRunSize(int sortRunSize) {
+        this.sortRunSize = sortRunSize;
+    }
+
+    public int getSortMergeFanIn() {
+        return sortMergeFanIn;
+    }
+
+    public void setSortMergeFanIn(int sortMergeFanIn) {
+        this.sortMergeFanIn = sortMergeFanIn;
+    }
 }
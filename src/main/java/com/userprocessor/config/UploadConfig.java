@@ -0,0 +1,80 @@
+package com.userprocessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.upload")
+public class UploadConfig {
+
+    private String storageDir = Paths.get(System.getProperty("java.io.tmpdir"), "user-processor-uploads").toString();
+    private long maxUploadSize = 10L * 1024 * 1024 * 1024;
+    private long maxChunkSize = 64L * 1024 * 1024;
+    private int detailsRetentionHours = 24;
+    private int sessionTtlHours = 24;
+    private long maxDecompressedSize = 2L * 1024 * 1024 * 1024;
+    private int maxCompressionRatio = 100;
+
+    public String getStorageDir() {
+        return storageDir;
+    }
+
+    public void setStorageDir(String storageDir) {
+        this.storageDir = storageDir;
+    }
+
+    public Path getStoragePath() {
+        return Paths.get(storageDir);
+    }
+
+    public long getMaxUploadSize() {
+        return maxUploadSize;
+    }
+
+    public void setMaxUploadSize(long maxUploadSize) {
+        this.maxUploadSize = maxUploadSize;
+    }
+
+    public long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(long maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public int getDetailsRetentionHours() {
+        return detailsRetentionHours;
+    }
+
+    public void setDetailsRetentionHours(int detailsRetentionHours) {
+        this.detailsRetentionHours = detailsRetentionHours;
+    }
+
+    public int getSessionTtlHours() {
+        return sessionTtlHours;
+    }
+
+    public void setSessionTtlHours(int sessionTtlHours) {
+        this.sessionTtlHours = sessionTtlHours;
+    }
+
+    public long getMaxDecompressedSize() {
+        return maxDecompressedSize;
+    }
+
+    public void setMaxDecompressedSize(long maxDecompressedSize) {
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    public int getMaxCompressionRatio() {
+        return maxCompressionRatio;
+    }
+
+    public void setMaxCompressionRatio(int maxCompressionRatio) {
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+}
@@ -1,5 +1,6 @@
 package com.userprocessor.controller;
 
+import com.userprocessor.service.DataVersionService;
 import com.userprocessor.service.StatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -7,9 +8,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,14 +23,20 @@ import java.util.Map;
 public class StatisticsController {
 
     private final StatisticsService statisticsService;
+    private final DataVersionService dataVersionService;
 
     @Autowired
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService, DataVersionService dataVersionService) {
         this.statisticsService = statisticsService;
+        this.dataVersionService = dataVersionService;
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getGeneralStatistics() {
+    public ResponseEntity<Map<String, Object>> getGeneralStatistics(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return notModified();
+        }
+
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -36,7 +45,7 @@ public class StatisticsController {
             response.put("success", true);
             response.put("data", stats);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -48,7 +57,11 @@ public class StatisticsController {
     }
 
     @GetMapping("/sources")
-    public ResponseEntity<Map<String, Object>> getSourceStatistics() {
+    public ResponseEntity<Map<String, Object>> getSourceStatistics(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return notModified();
+        }
+
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -57,7 +70,7 @@ public class StatisticsController {
             response.put("success", true);
             response.put("data", sourceStats);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -69,7 +82,11 @@ public class StatisticsController {
     }
 
     @GetMapping("/sources/{source}")
-    public ResponseEntity<Map<String, Object>> getCountBySource(@PathVariable String source) {
+    public ResponseEntity<Map<String, Object>> getCountBySource(@PathVariable String source, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return notModified();
+        }
+
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -81,7 +98,7 @@ public class StatisticsController {
                 "count", count
             ));
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -93,7 +110,11 @@ public class StatisticsController {
     }
 
     @GetMapping("/detailed")
-    public ResponseEntity<Map<String, Object>> getDetailedStatistics() {
+    public ResponseEntity<Map<String, Object>> getDetailedStatistics(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return notModified();
+        }
+
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -102,7 +123,7 @@ public class StatisticsController {
             response.put("success", true);
             response.put("data", detailedStats);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
             
         } catch (Exception e) {
             response.put("success", false);
@@ -112,4 +133,12 @@ public class StatisticsController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(dataVersionService.getETag(), dataVersionService.getLastModified());
+    }
+
+    private ResponseEntity<Map<String, Object>> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.userprocessor.controller;
 
+import com.userprocessor.service.AdaptiveBatchSizer;
 import com.userprocessor.service.FileProcessingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,10 +22,12 @@ import java.util.Map;
 public class SystemController {
 
     private final FileProcessingService fileProcessingService;
+    private final AdaptiveBatchSizer batchSizer;
 
     @Autowired
-    public SystemController(FileProcessingService fileProcessingService) {
+    public SystemController(FileProcessingService fileProcessingService, AdaptiveBatchSizer batchSizer) {
         this.fileProcessingService = fileProcessingService;
+        this.batchSizer = batchSizer;
     }
 
     @GetMapping("/health")
@@ -45,9 +48,9 @@ public class SystemController {
         
         response.put("application", "User Data Processor");
         response.put("version", "1.0.0");
-        response.put("description", "System for processing and storing user data from CSV, JSON, and XML files");
+        response.put("description", "System for processing and storing user data from CSV, JSON, NDJSON, XML, and Parquet files");
         response.put("supportedFileTypes", fileProcessingService.getSupportedFileTypes());
-        response.put("supportedOutputFormats", new String[]{"json", "csv", "xml"});
+        response.put("supportedOutputFormats", new String[]{"json", "csv", "xml", "smile", "cbor", "msgpack", "parquet"});
         response.put("timestamp", LocalDateTime.now());
         
         return ResponseEntity.ok(response);
@@ -60,9 +63,26 @@ public class SystemController {
         response.put("success", true);
         response.put("data", Map.of(
             "inputFormats", fileProcessingService.getSupportedFileTypes(),
-            "outputFormats", new String[]{"json", "csv", "xml"}
+            "outputFormats", new String[]{"json", "csv", "xml", "smile", "cbor", "msgpack", "parquet"}
         ));
         
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/ingestion/batch-size")
+    @Operation(
+        summary = "Get insert batch sizing",
+        description = "Current adaptive insert batch size, observed insert latency and the most recent sizing decisions"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch sizing state retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getBatchSizing() {
+        Map<String, Object> response = new HashMap<>();
+
+        response.put("success", true);
+        response.put("data", batchSizer.getStatistics());
+
+        return ResponseEntity.ok(response);
+    }
 }
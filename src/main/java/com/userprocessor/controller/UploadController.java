@@ -0,0 +1,260 @@
+package com.userprocessor.controller;
+
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.UploadSession;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.exception.UploadOffsetMismatchException;
+import com.userprocessor.service.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/uploads")
+@Tag(name = "Chunked Uploads", description = "Resumable chunked uploads for files larger than the multipart limit")
+public class UploadController {
+
+    private static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+    private static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-Checksum";
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("^bytes (\\d+)-(\\d+)/(\\d+|\\*)$");
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    public UploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @Operation(
+        summary = "Create an upload session",
+        description = "Start a resumable upload. Chunks are then sent with PUT and the file is processed on completion"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Upload session created"),
+        @ApiResponse(responseCode = "400", description = "Invalid file type or size")
+    })
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createSession(
+            @Parameter(description = "File type. Detected from the file content on completion when omitted",
+                example = "csv")
+            @RequestParam(required = false) String fileType,
+            @Parameter(description = "Original file name", example = "users.csv")
+            @RequestParam(value = "filename", required = false) String filename,
+            @Parameter(description = "Total file size in bytes", required = true, example = "5368709120")
+            @RequestParam("totalSize") long totalSize) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UploadSession session = chunkedUploadService.createSession(fileType, filename, totalSize);
+
+            response.put("success", true);
+            response.put("message", "Upload session created");
+            response.put("data", session);
+
+            return ResponseEntity.created(URI.create("/api/uploads/" + session.getId()))
+                .header(UPLOAD_OFFSET_HEADER, "0")
+                .body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error creating upload session");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Upload a chunk",
+        description = "Send the next byte range as the raw request body with a 'Content-Range: bytes start-end/total' " +
+            "header. An optional X-Chunk-Checksum header carries the CRC32C of the chunk as 8 hex digits"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chunk stored"),
+        @ApiResponse(responseCode = "400", description = "Invalid range, size, total or checksum"),
+        @ApiResponse(responseCode = "404", description = "Upload session not found"),
+        @ApiResponse(responseCode = "409", description = "Chunk does not start at the received offset")
+    })
+    @PutMapping(value = "/{id}", consumes = "!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadChunk(
+            @PathVariable String id,
+            @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+            @RequestHeader(value = CHUNK_CHECKSUM_HEADER, required = false) String checksum,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        Optional<UploadSession> session = chunkedUploadService.getSession(id);
+        if (session.isEmpty()) {
+            return notFound(response);
+        }
+
+        Matcher matcher = CONTENT_RANGE_PATTERN.matcher(contentRange.trim());
+        if (!matcher.matches()) {
+            response.put("success", false);
+            response.put("message", "Invalid Content-Range header");
+            response.put("error", "Expected format: bytes start-end/total");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        long start = Long.parseLong(matcher.group(1));
+        long end = Long.parseLong(matcher.group(2));
+        String total = matcher.group(3);
+
+        if (!"*".equals(total) && Long.parseLong(total) != session.get().getTotalSize()) {
+            response.put("success", false);
+            response.put("message", "Content-Range total does not match the upload session");
+            response.put("error", String.format("Content-Range total is %s but the session was created for %d bytes",
+                total, session.get().getTotalSize()));
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        try {
+            UploadSession updated = chunkedUploadService.appendChunk(
+                id, start, end - start + 1, request.getInputStream(), checksum);
+
+            response.put("success", true);
+            response.put("message", updated.isComplete() ? "All bytes received" : "Chunk stored");
+            response.put("data", updated);
+
+            return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(updated.getReceivedBytes()))
+                .body(response);
+
+        } catch (UploadOffsetMismatchException e) {
+            response.put("success", false);
+            response.put("message", "Chunk does not start at the received offset");
+            response.put("error", e.getMessage());
+            response.put("receivedBytes", e.getExpectedOffset());
+
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(e.getExpectedOffset()))
+                .body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error storing chunk");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Get upload session status",
+        description = "Returns the number of bytes received so far, so an interrupted upload can resume from there"
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> getSession(@PathVariable String id) {
+        Map<String, Object> response = new HashMap<>();
+
+        Optional<UploadSession> session = chunkedUploadService.getSession(id);
+
+        if (session.isPresent()) {
+            response.put("success", true);
+            response.put("data", session.get());
+            return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.get().getReceivedBytes()))
+                .body(response);
+        } else {
+            return notFound(response);
+        }
+    }
+
+    @Operation(
+        summary = "Finalize an upload",
+        description = "Process the assembled file once every byte has been received. If processing fails, the " +
+            "upload is kept so that completion can be retried"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File processed successfully"),
+        @ApiResponse(responseCode = "400", description = "Upload incomplete or file invalid"),
+        @ApiResponse(responseCode = "404", description = "Upload session not found")
+    })
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Map<String, Object>> complete(
+            @PathVariable String id,
+            @Parameter(description = "Response mode: full or summary", example = "summary")
+            @RequestParam(defaultValue = "full") String responseMode,
+            @Parameter(description = "Validation mode: strict or partial", example = "partial")
+            @RequestParam(defaultValue = "strict") String validationMode) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (chunkedUploadService.getSession(id).isEmpty()) {
+            return notFound(response);
+        }
+
+        try {
+            ProcessingResult result = chunkedUploadService.complete(id,
+                new IngestOptions(ResponseMode.fromString(responseMode), ValidationMode.fromString(validationMode)));
+
+            response.put("success", true);
+            response.put("message", "File processed successfully");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error processing file");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> abort(@PathVariable String id) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (chunkedUploadService.abort(id)) {
+                response.put("success", true);
+                response.put("message", "Upload session aborted");
+                return ResponseEntity.ok(response);
+            } else {
+                return notFound(response);
+            }
+
+        } catch (FileProcessingException e) {
+            response.put("success", false);
+            response.put("message", "Upload session cannot be aborted");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error aborting upload session");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> notFound(Map<String, Object> response) {
+        response.put("success", false);
+        response.put("message", "Upload session not found");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+}
@@ -1,14 +1,28 @@
 package com.userprocessor.controller;
 
+import com.userprocessor.dto.BatchProcessingResult;
+import com.userprocessor.dto.IngestOptions;
 import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.RecordDetail;
 import com.userprocessor.dto.UserDto;
 import com.userprocessor.dto.UserResponseDto;
 import com.userprocessor.entity.User;
-import com.userprocessor.repository.UserRepository;
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.FileType;
 import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.enums.WriteMode;
+import com.userprocessor.exception.StreamAbortedException;
+import com.userprocessor.exception.UnsupportedFileTypeException;
+import com.userprocessor.service.BatchUploadService;
+import com.userprocessor.service.DataVersionService;
 import com.userprocessor.service.FileProcessingService;
 import com.userprocessor.service.OutputFormatterService;
+import com.userprocessor.service.ProcessingDetailsService;
+import com.userprocessor.service.RejectsService;
 import com.userprocessor.service.UserService;
+import com.userprocessor.sort.UserSortOrder;
 import com.userprocessor.validation.ValidFileType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,15 +32,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,23 +60,33 @@ public class UserController {
     private final UserService userService;
     private final FileProcessingService fileProcessingService;
     private final OutputFormatterService outputFormatterService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final ProcessingDetailsService processingDetailsService;
+    private final BatchUploadService batchUploadService;
+    private final RejectsService rejectsService;
 
     @Autowired
     public UserController(
             UserService userService,
             FileProcessingService fileProcessingService,
             OutputFormatterService outputFormatterService,
-            UserRepository userRepository) {
+            DataVersionService dataVersionService,
+            ProcessingDetailsService processingDetailsService,
+            BatchUploadService batchUploadService,
+            RejectsService rejectsService) {
         this.userService = userService;
         this.fileProcessingService = fileProcessingService;
         this.outputFormatterService = outputFormatterService;
-        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.processingDetailsService = processingDetailsService;
+        this.batchUploadService = batchUploadService;
+        this.rejectsService = rejectsService;
     }
 
     @Operation(
         summary = "Upload and process user data file",
-        description = "Upload a CSV, JSON, or XML file containing user data for processing and storage"
+        description = "Upload a CSV, JSON, NDJSON, XML, or Parquet file containing user data for processing and storage. " +
+            "Files may be gzip-compressed (.gz) or bundled in a zip archive (.zip), which is processed as one batch"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -87,15 +117,25 @@ public class UserController {
     })
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadFile(
-            @Parameter(description = "File to upload (CSV, JSON, or XML)", required = true)
+            @Parameter(description = "File to upload (CSV, JSON, NDJSON, XML, or Parquet)", required = true)
             @RequestParam("file") MultipartFile file,
-            @Parameter(description = "File type", required = true, example = "csv")
-            @RequestParam("fileType") @ValidFileType String fileType) {
+            @Parameter(description = "File type. Detected from the file content when omitted", example = "csv")
+            @RequestParam(required = false) @ValidFileType String fileType,
+            @Parameter(description = "Response mode: full lists every row, summary returns counts, " +
+                "grouped issues with samples and a detailsId for paging through per-row results", example = "full")
+            @RequestParam(defaultValue = "full") String responseMode,
+            @Parameter(description = "Validation mode: strict fails the upload on the first invalid row, partial " +
+                "stores the valid rows and writes invalid ones to a downloadable rejects file", example = "strict")
+            @RequestParam(defaultValue = "strict") String validationMode,
+            @Parameter(description = "Write mode: insert skips emails that already exist, upsert updates the " +
+                "name of existing users and skips rows that would not change anything", example = "insert")
+            @RequestParam(defaultValue = "insert") String writeMode) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            ProcessingResult result = fileProcessingService.processFile(file, fileType);
+            ProcessingResult result = fileProcessingService.processFile(
+                file, fileType, ingestOptions(responseMode, validationMode, writeMode));
             
             response.put("success", true);
             response.put("message", "File processed successfully");
@@ -112,6 +152,326 @@ public class UserController {
         }
     }
 
+    @Operation(
+        summary = "Upload and process a user data file as a raw stream",
+        description = "Send the file as the raw request body (not multipart). Records are parsed and stored " +
+            "while the body is still arriving, without buffering the upload to memory or disk"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File processed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid file or validation error"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    @PostMapping(value = "/upload/stream", consumes = "!" + MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadStream(
+            @Parameter(description = "File type. Detected from the body content when omitted", example = "csv")
+            @RequestParam(required = false) @ValidFileType String fileType,
+            @Parameter(description = "Response mode: full or summary", example = "full")
+            @RequestParam(defaultValue = "full") String responseMode,
+            @Parameter(description = "Validation mode: strict fails the upload on the first invalid row, partial " +
+                "stores the valid rows and writes invalid ones to a downloadable rejects file", example = "strict")
+            @RequestParam(defaultValue = "strict") String validationMode,
+            @Parameter(description = "Write mode: insert skips emails that already exist, upsert updates the " +
+                "name of existing users and skips rows that would not change anything", example = "insert")
+            @RequestParam(defaultValue = "insert") String writeMode,
+            @Parameter(description = "Body compression: none, gzip or zip. Defaults to gzip when " +
+                "Content-Encoding is gzip, otherwise detected from the leading bytes", example = "gzip")
+            @RequestParam(required = false) String compression,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            CompressionType compressionType = compression != null
+                ? CompressionType.fromString(compression)
+                : "gzip".equalsIgnoreCase(contentEncoding) ? CompressionType.GZIP : null;
+
+            ProcessingResult result = fileProcessingService.processStream(
+                request.getInputStream(), fileType, compressionType,
+                ingestOptions(responseMode, validationMode, writeMode));
+
+            response.put("success", true);
+            response.put("message", "File processed successfully");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error processing file");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Validate a user data file without storing it",
+        description = "Run the full streaming parse, record validation and duplicate checks against the database " +
+            "and return the result an upload would produce. Nothing is written"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File validated"),
+        @ApiResponse(responseCode = "400", description = "Invalid file or validation error"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    @PostMapping("/upload/validate")
+    public ResponseEntity<Map<String, Object>> validateFile(
+            @Parameter(description = "File to validate (CSV, JSON, NDJSON, XML, or Parquet)", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "File type. Detected from the file content when omitted", example = "csv")
+            @RequestParam(required = false) @ValidFileType String fileType,
+            @Parameter(description = "Response mode: full or summary", example = "summary")
+            @RequestParam(defaultValue = "full") String responseMode,
+            @Parameter(description = "Validation mode: strict stops at the first invalid row, partial reports " +
+                "every invalid row", example = "partial")
+            @RequestParam(defaultValue = "strict") String validationMode) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            ProcessingResult result = fileProcessingService.dryRunFile(
+                file, fileType, ingestOptions(responseMode, validationMode));
+
+            response.put("success", true);
+            response.put("message", "File validated successfully");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error validating file");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Preflight check of a user data file",
+        description = "Detect the file type, check the headers and validate only the first rows, including " +
+            "duplicate checks against the database. Nothing is written"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sample validated"),
+        @ApiResponse(responseCode = "400", description = "Invalid file or headers"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    @PostMapping("/upload/preflight")
+    public ResponseEntity<Map<String, Object>> preflightFile(
+            @Parameter(description = "File to check (CSV, JSON, NDJSON, XML, or Parquet)", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "File type. Detected from the file content when omitted", example = "csv")
+            @RequestParam(required = false) @ValidFileType String fileType,
+            @Parameter(description = "Number of rows to check. Defaults to app.processing.preflight-sample-size",
+                example = "100")
+            @RequestParam(required = false) Integer sampleSize) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            ProcessingResult result = fileProcessingService.preflightFile(file, fileType, sampleSize,
+                new IngestOptions(ResponseMode.FULL, ValidationMode.PARTIAL));
+
+            response.put("success", true);
+            response.put("message", "Preflight check completed");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error checking file");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Upload and process several files in one request",
+        description = "Files of mixed types are processed concurrently, each in its own transaction. " +
+            "An email that appears in more than one file is stored once and skipped elsewhere in the batch"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see per-file results for failures"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    @PostMapping("/upload/batch")
+    public ResponseEntity<Map<String, Object>> uploadBatch(
+            @Parameter(description = "Files to upload (CSV, JSON, NDJSON, XML, or Parquet, optionally compressed)",
+                required = true)
+            @RequestParam("files") List<MultipartFile> files,
+            @Parameter(description = "File type for files whose type cannot be detected from the name. " +
+                "Files with neither are detected from their content", example = "csv")
+            @RequestParam(required = false) String fileType,
+            @Parameter(description = "Response mode: full or summary", example = "full")
+            @RequestParam(defaultValue = "full") String responseMode,
+            @Parameter(description = "Validation mode: strict fails the upload on the first invalid row, partial " +
+                "stores the valid rows and writes invalid ones to a downloadable rejects file", example = "strict")
+            @RequestParam(defaultValue = "strict") String validationMode,
+            @Parameter(description = "Write mode: insert skips emails that already exist, upsert updates the " +
+                "name of existing users and skips rows that would not change anything", example = "insert")
+            @RequestParam(defaultValue = "insert") String writeMode) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (fileType != null && !FileType.isValid(fileType)) {
+                throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
+            }
+
+            BatchProcessingResult result = batchUploadService.processBatch(
+                files, fileType, ingestOptions(responseMode, validationMode, writeMode));
+
+            response.put("success", result.getFailedFiles() == 0);
+            response.put("message", String.format("Processed %d of %d files successfully",
+                result.getSucceededFiles(), result.getTotalFiles()));
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error processing batch");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Sync the users of a source with a full snapshot",
+        description = "Merge a complete snapshot of a partner's user list with the users stored for that source. " +
+            "New emails are inserted, changed names are updated and users missing from the snapshot are deleted, " +
+            "all in one transaction. The snapshot is sorted on disk by email when it is not already sorted"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot synced"),
+        @ApiResponse(responseCode = "400", description = "Invalid file, invalid row or missing source"),
+        @ApiResponse(responseCode = "413", description = "File size exceeds limit"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded")
+    })
+    @PostMapping("/upload/sync")
+    public ResponseEntity<Map<String, Object>> syncSnapshot(
+            @Parameter(description = "Complete snapshot of the source's users (CSV, JSON, NDJSON, XML, or Parquet)",
+                required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Source the snapshot replaces. Only users stored with this source are " +
+                "updated or deleted", required = true, example = "partner-a")
+            @RequestParam String source,
+            @Parameter(description = "File type. Detected from the file content when omitted", example = "csv")
+            @RequestParam(required = false) @ValidFileType String fileType,
+            @Parameter(description = "Compute the changes without applying them", example = "false")
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            ProcessingResult result = fileProcessingService.syncFile(file, fileType, source, dryRun);
+
+            response.put("success", true);
+            response.put("message", dryRun ? "Snapshot compared successfully" : "Snapshot synced successfully");
+            response.put("data", result);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error syncing snapshot");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Get per-row processing details",
+        description = "Page through the per-row results of an upload processed with responseMode=summary"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Details page retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Details not found or expired")
+    })
+    @GetMapping("/upload/details/{detailsId}")
+    public ResponseEntity<Map<String, Object>> getProcessingDetails(
+            @PathVariable String detailsId,
+            @Parameter(description = "Page number", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "100")
+            @RequestParam(defaultValue = "100") int size) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Optional<List<RecordDetail>> details = processingDetailsService.readPage(
+                detailsId, Math.max(page, 0), Math.min(Math.max(size, 1), 1000));
+
+            if (details.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Processing details not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            response.put("success", true);
+            response.put("data", details.get());
+            response.put("pagination", Map.of(
+                "page", page,
+                "size", size,
+                "returned", details.get().size()
+            ));
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error retrieving processing details");
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @Operation(
+        summary = "Download the rejects file of an upload",
+        description = "Download the CSV of rows rejected by an upload processed with validationMode=partial. " +
+            "Each row carries the line number, rejection code, reason and the original record"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rejects file downloaded successfully"),
+        @ApiResponse(responseCode = "404", description = "Rejects file not found or expired")
+    })
+    @GetMapping("/upload/rejects/{rejectsId}")
+    public ResponseEntity<?> downloadRejects(@PathVariable String rejectsId) {
+        Optional<Path> rejects = rejectsService.find(rejectsId);
+
+        if (rejects.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Rejects file not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentDispositionFormData("attachment", "rejects-" + rejectsId + ".csv");
+
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(new FileSystemResource(rejects.get()));
+    }
+
+    private IngestOptions ingestOptions(String responseMode, String validationMode) {
+        return new IngestOptions(ResponseMode.fromString(responseMode), ValidationMode.fromString(validationMode));
+    }
+
+    private IngestOptions ingestOptions(String responseMode, String validationMode, String writeMode) {
+        return ingestOptions(responseMode, validationMode).withWriteMode(WriteMode.fromString(writeMode));
+    }
+
     @Operation(
         summary = "Create a new user",
         description = "Create a single user with name and email"
@@ -136,12 +496,7 @@ public class UserController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            User user = new User();
-            user.setName(userDto.getName());
-            user.setEmail(userDto.getEmail());
-            user.setSource("manual");
-            
-            User savedUser = userRepository.save(user);
+            User savedUser = userService.createUser(userDto);
             
             response.put("success", true);
             response.put("message", "User created successfully");
@@ -160,7 +515,9 @@ public class UserController {
 
     @Operation(
         summary = "Get all users with optional formatting",
-        description = "Retrieve all users with pagination and format options (JSON, CSV, XML)"
+        description = "Retrieve all users with pagination (JSON) or as a full export (CSV, XML, Smile, CBOR, " +
+            "MessagePack, Parquet). The format parameter wins over the Accept header; CSV and binary exports are streamed. " +
+            "Exports in an order no index covers are sorted on local disk"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
@@ -168,18 +525,26 @@ public class UserController {
     })
     @GetMapping
     public ResponseEntity<?> getAllUsers(
-            @Parameter(description = "Output format", example = "json")
-            @RequestParam(defaultValue = "json") String format,
+            @Parameter(description = "Output format: json, csv, xml, smile, cbor, msgpack or parquet", example = "json")
+            @RequestParam(required = false) String format,
             @Parameter(description = "Page number", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Up to two comma-separated sort fields (name, email, source, createdAt, id); " +
+                "prefix a field with - to sort descending. Defaults to newest first", example = "source,-createdAt")
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse) {
+
+        UserSortOrder order = UserSortOrder.parse(sort);
+        boolean streaming = false;
+
         try {
-            OutputFormat outputFormat = OutputFormat.fromString(format);
+            OutputFormat outputFormat = outputFormatterService.resolveFormat(format, accept);
             
             if (outputFormat == OutputFormat.JSON) {
-                Page<UserResponseDto> users = userService.getAllUsers(page, size);
+                Page<UserResponseDto> users = userService.getAllUsers(page, size, order);
                 
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -192,21 +557,40 @@ public class UserController {
                 ));
                 
                 return ResponseEntity.ok(response);
-            } else {
-                List<UserResponseDto> users = userService.getAllUsers();
-                String formattedData = outputFormatterService.formatUsers(users, outputFormat);
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType(outputFormat.getContentType()));
-                headers.setContentDispositionFormData("attachment", 
-                    "users" + outputFormatterService.getFileExtension(outputFormat));
-                
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(formattedData);
             }
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(outputFormat.getContentType()));
+            headers.setContentDispositionFormData("attachment", 
+                "users" + outputFormatterService.getFileExtension(outputFormat));
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+            if (outputFormatterService.isStreamable(outputFormat)) {
+                headers.forEach((name, values) -> values.forEach(value -> servletResponse.addHeader(name, value)));
+                streaming = true;
+
+                OutputFormatterService.UserStreamWriter writer =
+                    outputFormatterService.openStream(servletResponse.getOutputStream(), outputFormat);
+                userService.forEachUser(order, writer::write);
+                writer.close();
+                return null;
+            }
+
+            List<UserResponseDto> users = userService.getAllUsers(order);
+            String formattedData = outputFormatterService.formatUsers(users, outputFormat);
+
+            return ResponseEntity.ok()
+                .headers(headers)
+                .body(formattedData);
             
         } catch (Exception e) {
+            if (servletResponse.isCommitted()) {
+                throw new StreamAbortedException("User export failed after the response was committed", e);
+            }
+            if (streaming) {
+                servletResponse.reset();
+            }
+
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
             errorResponse.put("message", "Error retrieving users");
@@ -217,7 +601,11 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.getETag(), dataVersionService.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
         Map<String, Object> response = new HashMap<>();
         
         Optional<UserResponseDto> user = userService.getUserById(id);
@@ -225,7 +613,7 @@ public class UserController {
         if (user.isPresent()) {
             response.put("success", true);
             response.put("data", user.get());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
         } else {
             response.put("success", false);
             response.put("message", "User not found");
@@ -0,0 +1,132 @@
+package com.userprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchProcessingResult {
+
+    private int totalFiles;
+    private int succeededFiles;
+    private int failedFiles;
+    private int totalRecords;
+    private int processedRecords;
+    private int skippedRecords;
+    private int errorRecords;
+    private int rejectedRecords;
+    private Long processingTimeMs;
+    private List<FileResult> files = new ArrayList<>();
+
+    public void addFileResult(FileResult fileResult) {
+        files.add(fileResult);
+        totalFiles++;
+
+        if (!fileResult.isSuccess()) {
+            failedFiles++;
+            return;
+        }
+
+        succeededFiles++;
+        ProcessingResult result = fileResult.getResult();
+        totalRecords += result.getTotalRecords();
+        processedRecords += result.getProcessedRecords();
+        skippedRecords += result.getSkippedRecords();
+        errorRecords += result.getErrorRecords();
+        rejectedRecords += result.getRejectedRecords();
+    }
+
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public int getSucceededFiles() {
+        return succeededFiles;
+    }
+
+    public int getFailedFiles() {
+        return failedFiles;
+    }
+
+    public int getTotalRecords() {
+        return totalRecords;
+    }
+
+    public int getProcessedRecords() {
+        return processedRecords;
+    }
+
+    public int getSkippedRecords() {
+        return skippedRecords;
+    }
+
+    public int getErrorRecords() {
+        return errorRecords;
+    }
+
+    public int getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    public Long getProcessingTimeMs() {
+        return processingTimeMs;
+    }
+
+    public void setProcessingTimeMs(Long processingTimeMs) {
+        this.processingTimeMs = processingTimeMs;
+    }
+
+    public List<FileResult> getFiles() {
+        return files;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class FileResult {
+        private String filename;
+        private String fileType;
+        private boolean success;
+        private String error;
+        private ProcessingResult result;
+
+        public FileResult() {}
+
+        public static FileResult success(String filename, String fileType, ProcessingResult result) {
+            FileResult fileResult = new FileResult();
+            fileResult.filename = filename;
+            fileResult.fileType = fileType;
+            fileResult.success = true;
+            fileResult.result = result;
+            return fileResult;
+        }
+
+        public static FileResult failure(String filename, String fileType, String error) {
+            FileResult fileResult = new FileResult();
+            fileResult.filename = filename;
+            fileResult.fileType = fileType;
+            fileResult.success = false;
+            fileResult.error = error;
+            return fileResult;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public String getFileType() {
+            return fileType;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public ProcessingResult getResult() {
+            return result;
+        }
+    }
+}
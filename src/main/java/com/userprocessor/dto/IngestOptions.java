@@ -0,0 +1,77 @@
+package com.userprocessor.dto;
+
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.enums.WriteMode;
+import com.userprocessor.service.BatchEmailClaims;
+
+public class IngestOptions {
+
+    private final ResponseMode responseMode;
+    private final ValidationMode validationMode;
+    private WriteMode writeMode = WriteMode.INSERT;
+    private BatchEmailClaims.FileClaims batchClaims;
+    private boolean dryRun;
+    private int sampleLimit;
+
+    public IngestOptions(ResponseMode responseMode, ValidationMode validationMode) {
+        this.responseMode = responseMode;
+        this.validationMode = validationMode;
+    }
+
+    public static IngestOptions of(ResponseMode responseMode) {
+        return new IngestOptions(responseMode, ValidationMode.STRICT);
+    }
+
+    public ResponseMode getResponseMode() {
+        return responseMode;
+    }
+
+    public ValidationMode getValidationMode() {
+        return validationMode;
+    }
+
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public BatchEmailClaims.FileClaims getBatchClaims() {
+        return batchClaims;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public int getSampleLimit() {
+        return sampleLimit;
+    }
+
+    public IngestOptions withWriteMode(WriteMode writeMode) {
+        IngestOptions options = copy();
+        options.writeMode = writeMode;
+        return options;
+    }
+
+    public IngestOptions withBatchClaims(BatchEmailClaims.FileClaims batchClaims) {
+        IngestOptions options = copy();
+        options.batchClaims = batchClaims;
+        return options;
+    }
+
+    public IngestOptions asDryRun(int sampleLimit) {
+        IngestOptions options = copy();
+        options.dryRun = true;
+        options.sampleLimit = sampleLimit;
+        return options;
+    }
+
+    private IngestOptions copy() {
+        IngestOptions options = new IngestOptions(responseMode, validationMode);
+        options.writeMode = writeMode;
+        options.batchClaims = batchClaims;
+        options.dryRun = dryRun;
+        options.sampleLimit = sampleLimit;
+        return options;
+    }
+}
@@ -0,0 +1,61 @@
+package com.userprocessor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IssueSummary {
+
+    private String category;
+    private String severity;
+    private long count;
+    private List<String> samples;
+
+    public IssueSummary() {
+        this.samples = new ArrayList<>();
+    }
+
+    public IssueSummary(String category, String severity) {
+        this();
+        this.category = category;
+        this.severity = severity;
+    }
+
+    public void record(String message, int sampleLimit) {
+        count++;
+        if (samples.size() < sampleLimit) {
+            samples.add(message);
+        }
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(String severity) {
+        this.severity = severity;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public List<String> getSamples() {
+        return samples;
+    }
+
+    public void setSamples(List<String> samples) {
+        this.samples = samples;
+    }
+}
@@ -0,0 +1,55 @@
+package com.userprocessor.dto;
+
+import com.userprocessor.pipeline.StageMetrics;
+
+import java.util.List;
+
+public class PipelineStatistics {
+
+    private String mode;
+    private int ringSize;
+    private String bottleneck;
+    private List<StageMetrics> stages;
+
+    public PipelineStatistics() {
+    }
+
+    public PipelineStatistics(String mode, int ringSize, String bottleneck, List<StageMetrics> stages) {
+        this.mode = mode;
+        this.ringSize = ringSize;
+        this.bottleneck = bottleneck;
+        this.stages = stages;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public int getRingSize() {
+        return ringSize;
+    }
+
+    public void setRingSize(int ringSize) {
+        this.ringSize = ringSize;
+    }
+
+    public String getBottleneck() {
+        return bottleneck;
+    }
+
+    public void setBottleneck(String bottleneck) {
+        this.bottleneck = bottleneck;
+    }
+
+    public List<StageMetrics> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<StageMetrics> stages) {
+        this.stages = stages;
+    }
+}
@@ -1,17 +1,49 @@
 package com.userprocessor.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProcessingResult {
 
+    public static final String ISSUE_GENERAL = "general";
+    public static final String ISSUE_DUPLICATE = "duplicate";
+    public static final String ISSUE_PERSISTENCE = "persistence";
+    public static final String ISSUE_VALIDATION = "validation";
+
+    private String fileType;
     private int totalRecords;
     private int processedRecords;
     private int skippedRecords;
     private int errorRecords;
+    private int rejectedRecords;
+    private Integer insertedRecords;
+    private Integer updatedRecords;
+    private Integer unchangedRecords;
+    private Integer deletedRecords;
     private List<String> errors;
     private List<String> warnings;
     private List<UserResponseDto> processedUsers;
+    private Long timeToFirstRecordMs;
+    private Long processingTimeMs;
+    private Map<String, IssueSummary> issueSummary;
+    private int sampleLimit;
+    private String detailsId;
+    private String rejectsId;
+    private String rejectsUrl;
+    private Boolean dryRun;
+    private Boolean sampled;
+    private PipelineStatistics pipeline;
+    private Integer retries;
+    private Integer requeuedRecords;
+    private SortStatistics sort;
 
     public ProcessingResult() {
         this.errors = new ArrayList<>();
@@ -19,6 +51,14 @@ public class ProcessingResult {
         this.processedUsers = new ArrayList<>();
     }
 
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
     public int getTotalRecords() {
         return totalRecords;
     }
@@ -27,6 +67,10 @@ public class ProcessingResult {
         this.totalRecords = totalRecords;
     }
 
+    public void incrementTotalRecords() {
+        this.totalRecords++;
+    }
+
     public int getProcessedRecords() {
         return processedRecords;
     }
@@ -35,6 +79,10 @@ public class ProcessingResult {
         this.processedRecords = processedRecords;
     }
 
+    public void incrementProcessedRecords() {
+        this.processedRecords++;
+    }
+
     public int getSkippedRecords() {
         return skippedRecords;
     }
@@ -43,6 +91,10 @@ public class ProcessingResult {
         this.skippedRecords = skippedRecords;
     }
 
+    public void incrementSkippedRecords() {
+        this.skippedRecords++;
+    }
+
     public int getErrorRecords() {
         return errorRecords;
     }
@@ -51,6 +103,76 @@ public class ProcessingResult {
         this.errorRecords = errorRecords;
     }
 
+    public void incrementErrorRecords() {
+        this.errorRecords++;
+    }
+
+    public int getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    public void setRejectedRecords(int rejectedRecords) {
+        this.rejectedRecords = rejectedRecords;
+    }
+
+    public void incrementRejectedRecords() {
+        this.rejectedRecords++;
+    }
+
+    public void enableUpsertCounts() {
+        this.insertedRecords = 0;
+        this.updatedRecords = 0;
+        this.unchangedRecords = 0;
+    }
+
+    public Integer getInsertedRecords() {
+        return insertedRecords;
+    }
+
+    public void setInsertedRecords(Integer insertedRecords) {
+        this.insertedRecords = insertedRecords;
+    }
+
+    public void incrementInsertedRecords() {
+        this.insertedRecords++;
+    }
+
+    public Integer getUpdatedRecords() {
+        return updatedRecords;
+    }
+
+    public void setUpdatedRecords(Integer updatedRecords) {
+        this.updatedRecords = updatedRecords;
+    }
+
+    public void incrementUpdatedRecords() {
+        this.updatedRecords++;
+    }
+
+    public Integer getUnchangedRecords() {
+        return unchangedRecords;
+    }
+
+    public void setUnchangedRecords(Integer unchangedRecords) {
+        this.unchangedRecords = unchangedRecords;
+    }
+
+    public void incrementUnchangedRecords() {
+        this.unchangedRecords++;
+    }
+
+    public Integer getDeletedRecords() {
+        return deletedRecords;
+    }
+
+    public void setDeletedRecords(Integer deletedRecords) {
+        this.deletedRecords = deletedRecords;
+    }
+
+    public void incrementDeletedRecords() {
+        this.deletedRecords++;
+    }
+
     public List<String> getErrors() {
         return errors;
     }
@@ -60,7 +182,15 @@ public class ProcessingResult {
     }
 
     public void addError(String error) {
-        this.errors.add(error);
+        addError(ISSUE_GENERAL, error);
+    }
+
+    public void addError(String category, String error) {
+        if (isSummaryOnly()) {
+            summarize(category, "error", error);
+        } else {
+            this.errors.add(error);
+        }
     }
 
     public List<String> getWarnings() {
@@ -72,7 +202,15 @@ public class ProcessingResult {
     }
 
     public void addWarning(String warning) {
-        this.warnings.add(warning);
+        addWarning(ISSUE_GENERAL, warning);
+    }
+
+    public void addWarning(String category, String warning) {
+        if (isSummaryOnly()) {
+            summarize(category, "warning", warning);
+        } else {
+            this.warnings.add(warning);
+        }
     }
 
     public List<UserResponseDto> getProcessedUsers() {
@@ -84,14 +222,164 @@ public class ProcessingResult {
     }
 
     public void addProcessedUser(UserResponseDto user) {
-        this.processedUsers.add(user);
+        if (!isSummaryOnly()) {
+            this.processedUsers.add(user);
+        }
+    }
+
+    public Long getTimeToFirstRecordMs() {
+        return timeToFirstRecordMs;
+    }
+
+    public void setTimeToFirstRecordMs(Long timeToFirstRecordMs) {
+        this.timeToFirstRecordMs = timeToFirstRecordMs;
+    }
+
+    public Long getProcessingTimeMs() {
+        return processingTimeMs;
+    }
+
+    public void setProcessingTimeMs(Long processingTimeMs) {
+        this.processingTimeMs = processingTimeMs;
+    }
+
+    public void enableSummaryMode(int sampleLimit) {
+        this.issueSummary = new LinkedHashMap<>();
+        this.sampleLimit = sampleLimit;
+        this.errors = null;
+        this.warnings = null;
+        this.processedUsers = null;
+    }
+
+    @JsonIgnore
+    public boolean isSummaryOnly() {
+        return issueSummary != null;
+    }
+
+    private void summarize(String category, String severity, String message) {
+        issueSummary.computeIfAbsent(category, key -> new IssueSummary(key, severity))
+                .record(message, sampleLimit);
+    }
+
+    public Collection<IssueSummary> getIssueSummary() {
+        return issueSummary != null ? issueSummary.values() : null;
+    }
+
+    public String getDetailsId() {
+        return detailsId;
+    }
+
+    public void setDetailsId(String detailsId) {
+        this.detailsId = detailsId;
+    }
+
+    public String getRejectsId() {
+        return rejectsId;
+    }
+
+    public void setRejectsId(String rejectsId) {
+        this.rejectsId = rejectsId;
+    }
+
+    public String getRejectsUrl() {
+        return rejectsUrl;
+    }
+
+    public void setRejectsUrl(String rejectsUrl) {
+        this.rejectsUrl = rejectsUrl;
+    }
+
+    public Boolean getDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(Boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public Boolean getSampled() {
+        return sampled;
+    }
+
+    public void setSampled(Boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    public PipelineStatistics getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(PipelineStatistics pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public Integer getRetries() {
+        return retries;
+    }
+
+    public void setRetries(Integer retries) {
+        this.retries = retries;
+    }
+
+    public Integer getRequeuedRecords() {
+        return requeuedRecords;
+    }
+
+    public void addRequeued(ProcessingResult requeued, List<String> withdrawnWarnings) {
+        int rows = withdrawnWarnings.size();
+        requeuedRecords = (requeuedRecords != null ? requeuedRecords : 0) + rows;
+        processedRecords += requeued.processedRecords;
+        skippedRecords += requeued.skippedRecords - rows;
+        errorRecords += requeued.errorRecords;
+
+        if (isSummaryOnly()) {
+            IssueSummary duplicates = issueSummary.get(ISSUE_DUPLICATE);
+            if (duplicates != null) {
+                duplicates.getSamples().removeAll(new HashSet<>(withdrawnWarnings));
+                duplicates.setCount(duplicates.getCount() - rows);
+                if (duplicates.getCount() <= 0) {
+                    issueSummary.remove(ISSUE_DUPLICATE);
+                }
+            }
+        } else {
+            warnings.removeAll(new HashSet<>(withdrawnWarnings));
+        }
+
+        if (isSummaryOnly() && requeued.isSummaryOnly()) {
+            for (IssueSummary summary : requeued.issueSummary.values()) {
+                IssueSummary merged = issueSummary.computeIfAbsent(summary.getCategory(),
+                    key -> new IssueSummary(key, summary.getSeverity()));
+                for (String sample : summary.getSamples()) {
+                    merged.record(sample, sampleLimit);
+                }
+                merged.setCount(merged.getCount() + summary.getCount() - summary.getSamples().size());
+            }
+        } else if (!isSummaryOnly() && !requeued.isSummaryOnly()) {
+            errors.addAll(requeued.errors);
+            warnings.addAll(requeued.warnings);
+            processedUsers.addAll(requeued.processedUsers);
+        }
+    }
+
+    public SortStatistics getSort() {
+        return sort;
+    }
+
+    public void setSort(SortStatistics sort) {
+        this.sort = sort;
     }
 
     public boolean hasErrors() {
+        if (isSummaryOnly()) {
+            return issueSummary.values().stream().anyMatch(issue -> "error".equals(issue.getSeverity()));
+        }
         return !errors.isEmpty();
     }
 
     public boolean hasWarnings() {
+        if (isSummaryOnly()) {
+            return issueSummary.values().stream().anyMatch(issue -> "warning".equals(issue.getSeverity()));
+        }
         return !warnings.isEmpty();
     }
 
@@ -102,9 +390,12 @@ public class ProcessingResult {
                 ", processedRecords=" + processedRecords +
                 ", skippedRecords=" + skippedRecords +
                 ", errorRecords=" + errorRecords +
-                ", errorsCount=" + errors.size() +
-                ", warningsCount=" + warnings.size() +
-                ", processedUsersCount=" + processedUsers.size() +
+                ", rejectedRecords=" + rejectedRecords +
+                ", errorsCount=" + (errors != null ? errors.size() : 0) +
+                ", warningsCount=" + (warnings != null ? warnings.size() : 0) +
+                ", processedUsersCount=" + (processedUsers != null ? processedUsers.size() : 0) +
+                ", detailsId=" + detailsId +
+                ", rejectsId=" + rejectsId +
                 '}';
     }
 }
@@ -0,0 +1,70 @@
+package com.userprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordDetail {
+
+    public static final String STATUS_PROCESSED = "processed";
+    public static final String STATUS_UPDATED = "updated";
+    public static final String STATUS_UNCHANGED = "unchanged";
+    public static final String STATUS_SKIPPED = "skipped";
+    public static final String STATUS_ERROR = "error";
+    public static final String STATUS_REJECTED = "rejected";
+
+    private int line;
+    private String status;
+    private String email;
+    private Long userId;
+    private String message;
+
+    public RecordDetail() {}
+
+    public RecordDetail(int line, String status, String email, Long userId, String message) {
+        this.line = line;
+        this.status = status;
+        this.email = email;
+        this.userId = userId;
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
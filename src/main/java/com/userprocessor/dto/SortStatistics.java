@@ -0,0 +1,51 @@
+package com.userprocessor.dto;
+
+public class SortStatistics {
+
+    private long records;
+    private boolean presorted;
+    private int spilledRuns;
+    private int mergePasses;
+
+    public SortStatistics() {
+    }
+
+    public SortStatistics(long records, boolean presorted, int spilledRuns, int mergePasses) {
+        this.records = records;
+        this.presorted = presorted;
+        this.spilledRuns = spilledRuns;
+        this.mergePasses = mergePasses;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public boolean isPresorted() {
+        return presorted;
+    }
+
+    public void setPresorted(boolean presorted) {
+        this.presorted = presorted;
+    }
+
+    public int getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    public void setSpilledRuns(int spilledRuns) {
+        this.spilledRuns = spilledRuns;
+    }
+
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    public void setMergePasses(int mergePasses) {
+        this.mergePasses = mergePasses;
+    }
+}
@@ -0,0 +1,178 @@
+package com.userprocessor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UploadSession {
+
+    private String id;
+    private String fileType;
+    private String filename;
+    private long totalSize;
+    private long receivedBytes;
+    private List<ChunkInfo> chunks;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Path path;
+
+    @JsonIgnore
+    private boolean completing;
+
+    public UploadSession() {
+        this.chunks = new ArrayList<>();
+    }
+
+    public UploadSession(String id, String fileType, String filename, long totalSize, Path path) {
+        this();
+        this.id = id;
+        this.fileType = fileType;
+        this.filename = filename;
+        this.totalSize = totalSize;
+        this.path = path;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public List<ChunkInfo> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<ChunkInfo> chunks) {
+        this.chunks = chunks;
+    }
+
+    public void addChunk(ChunkInfo chunk) {
+        this.chunks.add(chunk);
+        this.receivedBytes = chunk.getOffset() + chunk.getLength();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void rewindTo(long size) {
+        this.chunks.removeIf(chunk -> chunk.getOffset() + chunk.getLength() > size);
+        this.receivedBytes = 0;
+        for (ChunkInfo chunk : chunks) {
+            this.receivedBytes = Math.max(receivedBytes, chunk.getOffset() + chunk.getLength());
+        }
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == totalSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    @JsonIgnore
+    public boolean isCompleting() {
+        return completing;
+    }
+
+    public void setCompleting(boolean completing) {
+        this.completing = completing;
+    }
+
+    public static class ChunkInfo {
+        private long offset;
+        private long length;
+        private String crc32c;
+
+        public ChunkInfo() {}
+
+        public ChunkInfo(long offset, long length, String crc32c) {
+            this.offset = offset;
+            this.length = length;
+            this.crc32c = crc32c;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void setOffset(long offset) {
+            this.offset = offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public void setLength(long length) {
+            this.length = length;
+        }
+
+        public String getCrc32c() {
+            return crc32c;
+        }
+
+        public void setCrc32c(String crc32c) {
+            this.crc32c = crc32c;
+        }
+    }
+}
@@ -28,6 +28,16 @@ public class UserResponseDto {
 
     public UserResponseDto() {}
 
+    public UserResponseDto(Long id, String name, String email, String source, LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.source = source;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public UserResponseDto(User user) {
         this.id = user.getId();
         this.name = user.getName();
@@ -0,0 +1,51 @@
+package com.userprocessor.enums;
+
+public enum CompressionType {
+    NONE("none", ""),
+    GZIP("gzip", "gz"),
+    ZIP("zip", "zip");
+
+    private final String value;
+    private final String extension;
+
+    CompressionType(String value, String extension) {
+        this.value = value;
+        this.extension = extension;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CompressionType fromString(String value) {
+        for (CompressionType type : CompressionType.values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid compression type: " + value);
+    }
+
+    public static CompressionType fromFileName(String filename) {
+        if (filename == null || filename.lastIndexOf('.') == -1) {
+            return NONE;
+        }
+
+        String extension = filename.substring(filename.lastIndexOf('.') + 1);
+        for (CompressionType type : CompressionType.values()) {
+            if (type != NONE && type.extension.equalsIgnoreCase(extension)) {
+                return type;
+            }
+        }
+        return NONE;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -3,7 +3,9 @@ package com.userprocessor.enums;
 public enum FileType {
     CSV("csv"),
     JSON("json"),
-    XML("xml");
+    NDJSON("ndjson"),
+    XML("xml"),
+    PARQUET("parquet");
 
     private final String value;
 
@@ -3,7 +3,11 @@ package com.userprocessor.enums;
 public enum OutputFormat {
     JSON("json", "application/json"),
     CSV("csv", "text/csv"),
-    XML("xml", "application/xml");
+    XML("xml", "application/xml"),
+    SMILE("smile", "application/x-jackson-smile"),
+    CBOR("cbor", "application/cbor"),
+    MSGPACK("msgpack", "application/x-msgpack"),
+    PARQUET("parquet", "application/vnd.apache.parquet");
 
     private final String value;
     private final String contentType;
@@ -21,6 +25,15 @@ public enum OutputFormat {
         return contentType;
     }
 
+    public static OutputFormat fromContentType(String contentType) {
+        for (OutputFormat format : OutputFormat.values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
     public static OutputFormat fromString(String value) {
         for (OutputFormat format : OutputFormat.values()) {
             if (format.value.equalsIgnoreCase(value)) {
@@ -0,0 +1,30 @@
+package com.userprocessor.enums;
+
+public enum ResponseMode {
+    FULL("full"),
+    SUMMARY("summary");
+
+    private final String value;
+
+    ResponseMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ResponseMode fromString(String value) {
+        for (ResponseMode mode : ResponseMode.values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid response mode: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
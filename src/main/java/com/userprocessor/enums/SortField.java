@@ -0,0 +1,64 @@
+package com.userprocessor.enums;
+
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.sort.CodePointComparator;
+
+import java.util.Comparator;
+
+public enum SortField {
+    NAME("name", "name", false, true, Comparator.comparing(UserResponseDto::getName, CodePointComparator.INSTANCE)),
+    EMAIL("email", "email", true, true, Comparator.comparing(UserResponseDto::getEmail, CodePointComparator.INSTANCE)),
+    SOURCE("source", "source", false, true,
+        Comparator.comparing(UserResponseDto::getSource, CodePointComparator.INSTANCE)),
+    CREATED_AT("createdAt", "created_at", false, false, Comparator.comparing(UserResponseDto::getCreatedAt)),
+    ID("id", "id", true, false, Comparator.comparing(UserResponseDto::getId));
+
+    private final String value;
+    private final String column;
+    private final boolean unique;
+    private final boolean text;
+    private final Comparator<UserResponseDto> comparator;
+
+    SortField(String value, String column, boolean unique, boolean text,
+              Comparator<UserResponseDto> comparator) {
+        this.value = value;
+        this.column = column;
+        this.unique = unique;
+        this.text = text;
+        this.comparator = comparator;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public boolean isText() {
+        return text;
+    }
+
+    public Comparator<UserResponseDto> getComparator() {
+        return comparator;
+    }
+
+    public static SortField fromString(String value) {
+        for (SortField field : SortField.values()) {
+            if (field.value.equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort field: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.userprocessor.enums;
+
+public enum ValidationMode {
+    STRICT("strict"),
+    PARTIAL("partial");
+
+    private final String value;
+
+    ValidationMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ValidationMode fromString(String value) {
+        for (ValidationMode mode : ValidationMode.values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid validation mode: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.userprocessor.enums;
+
+public enum WriteMode {
+    INSERT("insert"),
+    UPSERT("upsert");
+
+    private final String value;
+
+    WriteMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static WriteMode fromString(String value) {
+        for (WriteMode mode : WriteMode.values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid write mode: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
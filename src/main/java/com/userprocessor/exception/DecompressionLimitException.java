@@ -0,0 +1,10 @@
+package com.userprocessor.exception;
+
+import java.io.IOException;
+
+public class DecompressionLimitException extends IOException {
+
+    public DecompressionLimitException(String message) {
+        super(message);
+    }
+}
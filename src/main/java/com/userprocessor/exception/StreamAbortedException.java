@@ -0,0 +1,8 @@
+package com.userprocessor.exception;
+
+public class StreamAbortedException extends RuntimeException {
+
+    public StreamAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,10 +1,12 @@
 package com.userprocessor.middleware;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.userprocessor.dto.ApiResponse;
+import com.userprocessor.service.SerializationService;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -18,7 +20,12 @@ public class RateLimitingFilter implements Filter {
     private static final long TIME_WINDOW_MS = 60 * 1000;
 
     private final ConcurrentHashMap<String, RequestCounter> requestCounts = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectWriter responseWriter;
+
+    @Autowired
+    public RateLimitingFilter(SerializationService serializationService) {
+        this.responseWriter = serializationService.writerFor(ApiResponse.class);
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -63,7 +70,7 @@ public class RateLimitingFilter implements Filter {
             "Too many requests. Maximum " + MAX_REQUESTS_PER_MINUTE + " requests per minute allowed."
         );
         
-        String jsonResponse = objectMapper.writeValueAsString(apiResponse);
+        String jsonResponse = responseWriter.writeValueAsString(apiResponse);
         response.getWriter().write(jsonResponse);
     }
 
@@ -0,0 +1,28 @@
+package com.userprocessor.pipeline;
+
+import java.util.function.Supplier;
+
+public class RingBuffer<E> {
+
+    private final Object[] entries;
+    private final int mask;
+
+    public RingBuffer(int requestedSize, Supplier<E> factory) {
+        int size = Integer.highestOneBit(Math.max(2, requestedSize - 1)) << 1;
+        this.entries = new Object[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            entries[i] = factory.get();
+        }
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+}
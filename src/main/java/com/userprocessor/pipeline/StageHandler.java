@@ -0,0 +1,7 @@
+package com.userprocessor.pipeline;
+
+@FunctionalInterface
+public interface StageHandler<E> {
+
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
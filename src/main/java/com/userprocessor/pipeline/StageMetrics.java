@@ -0,0 +1,85 @@
+package com.userprocessor.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+public class StageMetrics {
+
+    private final String name;
+    private long events;
+    private long batches;
+    private long busyNanos;
+    private long stallNanos;
+    private long stalls;
+    private long occupancySum;
+    private long maxOccupancy;
+
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordBatch(long occupancy, long size, long nanos) {
+        batches++;
+        events += size;
+        busyNanos += nanos;
+        occupancySum += occupancy;
+        maxOccupancy = Math.max(maxOccupancy, occupancy);
+    }
+
+    void recordStall(long nanos) {
+        stalls++;
+        stallNanos += nanos;
+    }
+
+    void recordBusy(long nanos) {
+        busyNanos += nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public double getAverageBatchSize() {
+        return batches > 0 ? (double) events / batches : 0;
+    }
+
+    public long getBusyMs() {
+        return TimeUnit.NANOSECONDS.toMillis(busyNanos);
+    }
+
+    public long getStallMs() {
+        return TimeUnit.NANOSECONDS.toMillis(stallNanos);
+    }
+
+    public long getStalls() {
+        return stalls;
+    }
+
+    public double getUtilization() {
+        long total = busyNanos + stallNanos;
+        return total > 0 ? (double) busyNanos / total : 0;
+    }
+
+    public double getAverageOccupancy() {
+        return batches > 0 ? (double) occupancySum / batches : 0;
+    }
+
+    public long getMaxOccupancy() {
+        return maxOccupancy;
+    }
+
+    long getBusyNanos() {
+        return busyNanos;
+    }
+
+    long getStallNanos() {
+        return stallNanos;
+    }
+}
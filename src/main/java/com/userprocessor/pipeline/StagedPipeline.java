@@ -0,0 +1,289 @@
+package com.userprocessor.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+public class StagedPipeline<E> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final RingBuffer<E> ring;
+    private final StageMetrics producerMetrics;
+    private final List<List<Stage>> groups = new ArrayList<>();
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean producerDone;
+    private boolean inline;
+    private long claimed = -1;
+
+    public StagedPipeline(String producerName, int size, Supplier<E> factory) {
+        this.ring = new RingBuffer<>(size, factory);
+        this.producerMetrics = new StageMetrics(producerName);
+    }
+
+    public StagedPipeline<E> addStage(String name, StageHandler<E> handler, int maxBatch) {
+        return addStages(name, List.of(handler), () -> maxBatch);
+    }
+
+    public StagedPipeline<E> addStage(String name, StageHandler<E> handler, IntSupplier maxBatch) {
+        return addStages(name, List.of(handler), maxBatch);
+    }
+
+    public StagedPipeline<E> addStages(String name, List<StageHandler<E>> handlers, IntSupplier maxBatch) {
+        List<Stage> group = new ArrayList<>(handlers.size());
+        for (int i = 0; i < handlers.size(); i++) {
+            String stageName = handlers.size() == 1 ? name : name + "-" + (i + 1);
+            group.add(new Stage(groups.size(), stageName, handlers.get(i), maxBatch));
+        }
+        groups.add(group);
+        return this;
+    }
+
+    public int size() {
+        return ring.size();
+    }
+
+    public E claim() throws Exception {
+        long next = claimed + 1;
+        long wrapPoint = next - ring.size();
+        List<Stage> gate = groups.get(groups.size() - 1);
+
+        long gateSequence = minimumSequence(gate);
+        if (wrapPoint > gateSequence) {
+            long start = System.nanoTime();
+            if (inline) {
+                drain();
+                gateSequence = minimumSequence(gate);
+            } else {
+                for (int tries = 0; wrapPoint > (gateSequence = minimumSequence(gate)); tries++) {
+                    checkFailure();
+                    idle(tries);
+                }
+            }
+            producerMetrics.recordStall(System.nanoTime() - start);
+        }
+
+        producerMetrics.recordBatch(next - gateSequence - 1, 1, 0);
+        claimed = next;
+        return ring.get(next);
+    }
+
+    public void publish() {
+        cursor.set(claimed);
+    }
+
+    public void run(Producer producer, Executor executor) throws Exception {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        tasks.add(CompletableFuture.runAsync(() -> guard(() -> produce(producer)), executor));
+
+        Stage last = groups.get(groups.size() - 1).get(0);
+        for (List<Stage> group : groups) {
+            for (Stage stage : group) {
+                if (stage != last) {
+                    tasks.add(CompletableFuture.runAsync(() -> guard(stage::run), executor));
+                }
+            }
+        }
+
+        guard(last::run);
+
+        for (CompletableFuture<Void> task : tasks) {
+            task.join();
+        }
+
+        rethrowFailure();
+    }
+
+    public void runInline(Producer producer) throws Exception {
+        inline = true;
+
+        guard(() -> {
+            produce(producer);
+            drain();
+        });
+
+        rethrowFailure();
+    }
+
+    public List<StageMetrics> getMetrics() {
+        List<StageMetrics> metrics = new ArrayList<>();
+        metrics.add(producerMetrics);
+        for (List<Stage> group : groups) {
+            for (Stage stage : group) {
+                metrics.add(stage.metrics);
+            }
+        }
+        return metrics;
+    }
+
+    public StageMetrics getBottleneck() {
+        StageMetrics bottleneck = null;
+        for (StageMetrics metrics : getMetrics()) {
+            if (bottleneck == null || metrics.getBusyNanos() > bottleneck.getBusyNanos()) {
+                bottleneck = metrics;
+            }
+        }
+        return bottleneck;
+    }
+
+    private void drain() throws Exception {
+        for (List<Stage> group : groups) {
+            for (Stage stage : group) {
+                long next = stage.sequence.get() + 1;
+                long available;
+                while ((available = stage.upstream()) >= next) {
+                    next = stage.process(next, available) + 1;
+                }
+            }
+        }
+    }
+
+    private long minimumSequence(List<Stage> group) {
+        long minimum = Long.MAX_VALUE;
+        for (Stage stage : group) {
+            minimum = Math.min(minimum, stage.sequence.get());
+        }
+        return minimum;
+    }
+
+    private void produce(Producer producer) throws Exception {
+        long start = System.nanoTime();
+        try {
+            producer.produce();
+        } finally {
+            producerMetrics.recordBusy(System.nanoTime() - start - producerMetrics.getStallNanos());
+        }
+        producerDone = true;
+    }
+
+    private void rethrowFailure() throws Exception {
+        Throwable cause = failure.get();
+        if (cause instanceof Exception) {
+            throw (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+    }
+
+    private void guard(Producer task) {
+        try {
+            task.produce();
+        } catch (HaltedException e) {
+            return;
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure.get() != null) {
+            throw new HaltedException();
+        }
+    }
+
+    private static void idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Producer {
+
+        void produce() throws Exception;
+    }
+
+    private final class Stage {
+
+        private final int group;
+        private final StageHandler<E> handler;
+        private final IntSupplier maxBatch;
+        private final StageMetrics metrics;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private volatile boolean done;
+
+        Stage(int group, String name, StageHandler<E> handler, IntSupplier maxBatch) {
+            this.group = group;
+            this.handler = handler;
+            this.maxBatch = maxBatch;
+            this.metrics = new StageMetrics(name);
+        }
+
+        long upstream() {
+            return group == 0 ? cursor.get() : minimumSequence(groups.get(group - 1));
+        }
+
+        boolean upstreamDone() {
+            if (group == 0) {
+                return producerDone;
+            }
+            for (Stage stage : groups.get(group - 1)) {
+                if (!stage.done) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void run() throws Exception {
+            long next = sequence.get() + 1;
+
+            while (true) {
+                long available = upstream();
+                if (available < next) {
+                    long start = System.nanoTime();
+                    for (int tries = 0; (available = upstream()) < next; tries++) {
+                        if (upstreamDone() && (available = upstream()) < next) {
+                            break;
+                        }
+                        checkFailure();
+                        idle(tries);
+                    }
+                    metrics.recordStall(System.nanoTime() - start);
+
+                    if (available < next) {
+                        done = true;
+                        return;
+                    }
+                }
+
+                next = process(next, available) + 1;
+            }
+        }
+
+        long process(long next, long available) throws Exception {
+            long end = Math.min(available, next + Math.max(1, maxBatch.getAsInt()) - 1);
+            long start = System.nanoTime();
+
+            for (long current = next; current <= end; current++) {
+                handler.onEvent(ring.get(current), current, current == end);
+            }
+
+            sequence.set(end);
+            metrics.recordBatch(available - next + 1, end - next + 1, System.nanoTime() - start);
+            return end;
+        }
+    }
+
+    private static class HaltedException extends RuntimeException {
+
+        HaltedException() {
+            super(null, null, false, false);
+        }
+    }
+}
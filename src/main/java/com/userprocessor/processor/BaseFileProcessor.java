@@ -3,12 +3,30 @@ package com.userprocessor.processor;
 import com.userprocessor.dto.UserDto;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.util.FileValidationUtil;
+import com.userprocessor.validation.UserRecordValidator;
+import com.userprocessor.validation.ValidationCode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class BaseFileProcessor implements FileProcessor {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private UserRecordValidator recordValidator;
+
+    @Autowired
+    public void setRecordValidator(UserRecordValidator recordValidator) {
+        this.recordValidator = recordValidator;
+    }
+
     @Override
     public boolean canProcess(FileType fileType) {
         return getSupportedFileType().equals(fileType);
@@ -20,62 +38,48 @@ public abstract class BaseFileProcessor implements FileProcessor {
             throw new FileProcessingException("File is empty or null");
         }
 
-        if (file.getSize() > 10 * 1024 * 1024) {
-            throw new FileProcessingException("File size exceeds 10MB limit");
-        }
-
         String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             throw new FileProcessingException("File name is required");
         }
 
-        String fileExtension = getFileExtension(originalFilename);
-        if (!getSupportedFileType().getValue().equalsIgnoreCase(fileExtension)) {
+        FileType extensionType = FileValidationUtil.detectFileTypeFromName(originalFilename);
+        if (extensionType != null && extensionType != getSupportedFileType()) {
             throw new FileProcessingException(
                 String.format("Invalid file extension. Expected: %s, Found: %s", 
-                    getSupportedFileType().getValue(), fileExtension)
+                    getSupportedFileType().getValue(), getFileExtension(originalFilename))
             );
         }
     }
 
     protected String getFileExtension(String filename) {
-        if (filename == null || filename.lastIndexOf('.') == -1) {
-            return "";
-        }
-        return filename.substring(filename.lastIndexOf('.') + 1);
+        return FileValidationUtil.getFileExtension(FileValidationUtil.stripCompressionExtension(filename));
     }
 
-    protected void validateUserData(UserDto userDto, int lineNumber) throws FileProcessingException {
-        if (userDto == null) {
-            throw new FileProcessingException("User data is null at line " + lineNumber);
-        }
-
-        if (userDto.getName() == null || userDto.getName().trim().isEmpty()) {
-            throw new FileProcessingException("Name is required at line " + lineNumber);
-        }
-
-        if (userDto.getEmail() == null || userDto.getEmail().trim().isEmpty()) {
-            throw new FileProcessingException("Email is required at line " + lineNumber);
-        }
-
-        if (!isValidEmail(userDto.getEmail())) {
-            throw new FileProcessingException("Invalid email format at line " + lineNumber + ": " + userDto.getEmail());
-        }
-
-        if (userDto.getName().length() > 255) {
-            throw new FileProcessingException("Name exceeds 255 characters at line " + lineNumber);
-        }
-
-        if (userDto.getEmail().length() > 255) {
-            throw new FileProcessingException("Email exceeds 255 characters at line " + lineNumber);
+    @Override
+    public List<UserDto> processFile(MultipartFile file) throws Exception {
+        validateFileFormat(file);
+
+        List<UserDto> users = new ArrayList<>();
+        try (InputStream inputStream = file.getInputStream()) {
+            processStream(inputStream, (userDto, lineNumber, originalLine) -> {
+                ValidationCode code = recordValidator.validate(userDto);
+                if (!code.isValid()) {
+                    throw new FileProcessingException(code.describe(lineNumber, userDto.getEmail()));
+                }
+                users.add(userDto);
+            });
         }
+        return users;
     }
 
-    private boolean isValidEmail(String email) {
-        return email != null && 
-               email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    @Override
+    public void processPath(Path path, UserRecordHandler handler) throws Exception {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path), STREAM_BUFFER_SIZE)) {
+            processStream(inputStream, handler);
+        }
     }
 
     @Override
-    public abstract List<UserDto> processFile(MultipartFile file) throws Exception;
+    public abstract void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception;
 }
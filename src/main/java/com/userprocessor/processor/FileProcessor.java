@@ -4,6 +4,8 @@ import com.userprocessor.dto.UserDto;
 import com.userprocessor.enums.FileType;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface FileProcessor {
@@ -12,6 +14,10 @@ public interface FileProcessor {
 
     List<UserDto> processFile(MultipartFile file) throws Exception;
 
+    void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception;
+
+    void processPath(Path path, UserRecordHandler handler) throws Exception;
+
     boolean canProcess(FileType fileType);
 
     void validateFileFormat(MultipartFile file) throws Exception;
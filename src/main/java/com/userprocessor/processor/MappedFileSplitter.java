@@ -0,0 +1,118 @@
+package com.userprocessor.processor;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedFileSplitter implements Closeable {
+
+    private static final long MAX_RANGE_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int rangeSize;
+    private final long maxWindow;
+    private long position;
+    private boolean exhausted;
+
+    public MappedFileSplitter(Path path, int rangeSize, int maxRecordSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.rangeSize = rangeSize;
+        this.maxWindow = Math.min((long) rangeSize + maxRecordSize, MAX_RANGE_SIZE);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public void seek(long position) {
+        this.position = position;
+        this.exhausted = false;
+    }
+
+    public boolean hasRemaining() {
+        return position < size;
+    }
+
+    public Range next() throws IOException {
+        if (position >= size || exhausted) {
+            return null;
+        }
+
+        long window = rangeSize;
+        while (true) {
+            long length = Math.min(window, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int end = position + length == size ? (int) length : lastNewline(buffer, (int) length) + 1;
+            if (end > 0) {
+                Range range = new Range(position, buffer.slice(0, end));
+                position += end;
+                return range;
+            }
+
+            if (window >= maxWindow) {
+                exhausted = true;
+                return null;
+            }
+            window = Math.min(window * 2, maxWindow);
+        }
+    }
+
+    public InputStream streamFrom(long offset) throws IOException {
+        return new FilterInputStream(Channels.newInputStream(channel.position(offset))) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private int lastNewline(MappedByteBuffer buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static class Range {
+        private final long start;
+        private final MappedByteBuffer buffer;
+
+        Range(long start, MappedByteBuffer buffer) {
+            this.start = start;
+            this.buffer = buffer;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public MappedByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        public byte[] toByteArray() {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+}
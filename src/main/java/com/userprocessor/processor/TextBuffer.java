@@ -0,0 +1,47 @@
+package com.userprocessor.processor;
+
+public class TextBuffer implements CharSequence {
+
+    private char[] chars = new char[64];
+    private int length;
+    private String value;
+
+    public void set(CharSequence text) {
+        value = null;
+        length = text != null ? text.length() : 0;
+        if (chars.length < length) {
+            chars = new char[Math.max(chars.length * 2, length)];
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+    }
+
+    public void clear() {
+        value = null;
+        length = 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+        if (value == null) {
+            value = new String(chars, 0, length);
+        }
+        return value;
+    }
+}
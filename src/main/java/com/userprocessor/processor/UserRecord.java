@@ -0,0 +1,118 @@
+package com.userprocessor.processor;
+
+import com.userprocessor.dto.UserDto;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+public class UserRecord {
+
+    private final Field name = new Field();
+    private final Field email = new Field();
+
+    public CharSequence getName() {
+        return name;
+    }
+
+    public CharSequence getEmail() {
+        return email;
+    }
+
+    public void set(String name, String email) {
+        this.name.set(name);
+        this.email.set(email);
+    }
+
+    public void setName(byte[] bytes, int start, int end) {
+        name.set(bytes, start, end);
+    }
+
+    public void setEmail(byte[] bytes, int start, int end) {
+        email.set(bytes, start, end);
+    }
+
+    public boolean isEmpty() {
+        return name.length() == 0 && email.length() == 0;
+    }
+
+    public UserDto toUserDto() {
+        return new UserDto(name.toString(), email.toString());
+    }
+
+    private static class Field implements CharSequence {
+
+        private char[] chars = new char[64];
+        private int start;
+        private int end;
+        private String value;
+        private CharsetDecoder decoder;
+
+        void set(String value) {
+            this.value = value != null ? value.trim() : "";
+        }
+
+        void set(byte[] bytes, int from, int to) {
+            value = null;
+            int length = to - from;
+            if (chars.length < length) {
+                chars = new char[Math.max(chars.length * 2, length)];
+            }
+
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                byte b = bytes[i];
+                if (b < 0) {
+                    count = decode(bytes, from, to);
+                    break;
+                }
+                chars[count++] = (char) b;
+            }
+
+            start = 0;
+            end = count;
+            while (start < end && chars[start] <= ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+        }
+
+        private int decode(byte[] bytes, int from, int to) {
+            if (decoder == null) {
+                decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+
+            CharBuffer out = CharBuffer.wrap(chars);
+            decoder.reset();
+            decoder.decode(ByteBuffer.wrap(bytes, from, to - from), out, true);
+            decoder.flush(out);
+            return out.position();
+        }
+
+        @Override
+        public int length() {
+            return value != null ? value.length() : end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return value != null ? value.charAt(index) : chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return value != null ? value : new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.userprocessor.processor;
+
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.exception.FileProcessingException;
+
+import java.util.function.Supplier;
+
+@FunctionalInterface
+public interface UserRecordHandler {
+
+    void onRecord(UserDto userDto, int lineNumber, Supplier<String> originalLine) throws Exception;
+
+    default void onRecord(UserRecord record, int lineNumber, Supplier<String> originalLine) throws Exception {
+        onRecord(record.toUserDto(), lineNumber, originalLine);
+    }
+
+    default void onInvalidRecord(int lineNumber, String reason, Supplier<String> originalLine) throws Exception {
+        throw new FileProcessingException(reason);
+    }
+}
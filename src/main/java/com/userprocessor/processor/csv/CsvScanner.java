@@ -0,0 +1,14 @@
+package com.userprocessor.processor.csv;
+
+public interface CsvScanner {
+
+    byte SEPARATOR = ',';
+    byte QUOTE = '"';
+    byte ESCAPE = '\\';
+    byte CR = '\r';
+    byte LF = '\n';
+
+    int indexOfSpecial(byte[] buffer, int from, int to);
+
+    String getName();
+}
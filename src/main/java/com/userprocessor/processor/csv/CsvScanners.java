@@ -0,0 +1,19 @@
+package com.userprocessor.processor.csv;
+
+public class CsvScanners {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    public static CsvScanner create(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                CsvScanner scanner = new VectorCsvScanner();
+                scanner.indexOfSpecial(new byte[0], 0, 0);
+                return scanner;
+            } catch (LinkageError e) {
+                return new ScalarCsvScanner();
+            }
+        }
+        return new ScalarCsvScanner();
+    }
+}
@@ -0,0 +1,280 @@
+package com.userprocessor.processor.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.userprocessor.processor.csv.CsvScanner.CR;
+import static com.userprocessor.processor.csv.CsvScanner.ESCAPE;
+import static com.userprocessor.processor.csv.CsvScanner.LF;
+import static com.userprocessor.processor.csv.CsvScanner.QUOTE;
+import static com.userprocessor.processor.csv.CsvScanner.SEPARATOR;
+
+public class CsvTokenizer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final CsvScanner scanner;
+
+    private byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private long offset;
+
+    private int lineStart;
+    private int runStart;
+
+    private byte[] record = new byte[256];
+    private int recordLength;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    public CsvTokenizer(InputStream inputStream, CsvScanner scanner) {
+        this(inputStream, scanner, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvTokenizer(InputStream inputStream, CsvScanner scanner, int bufferSize) {
+        this.inputStream = inputStream;
+        this.scanner = scanner;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public String[] readNext() throws IOException {
+        return next() ? toArray() : null;
+    }
+
+    public boolean next() throws IOException {
+        lineStart = pos;
+        runStart = pos;
+        recordLength = 0;
+        fieldCount = 0;
+
+        if (pos == limit && !fill()) {
+            return false;
+        }
+
+        boolean inQuotes = false;
+        boolean inField = false;
+
+        while (true) {
+            int scanFrom = pos;
+            pos = scanner.indexOfSpecial(buffer, pos, limit);
+            if (pos > scanFrom) {
+                inField = true;
+            }
+
+            if (pos == limit) {
+                if (fill()) {
+                    continue;
+                }
+                if (inQuotes) {
+                    throw new IOException("Unterminated quoted field at end of CSV line");
+                }
+                endField();
+                return true;
+            }
+
+            byte c = buffer[pos];
+
+            if (c == LF || c == CR) {
+                if (inQuotes) {
+                    appendRun();
+                    appendByte(LF);
+                } else {
+                    endField();
+                }
+
+                pos++;
+                if (c == CR && ensure(1) && buffer[pos] == LF) {
+                    pos++;
+                }
+
+                if (!inQuotes) {
+                    return true;
+                }
+                lineStart = pos;
+                runStart = pos;
+
+            } else if (c == ESCAPE) {
+                appendRun();
+                inField = true;
+                if (ensure(2) && isEscapable(buffer[pos + 1])) {
+                    appendByte(buffer[pos + 1]);
+                    pos += 2;
+                } else {
+                    pos++;
+                }
+                runStart = pos;
+
+            } else if (c == QUOTE) {
+                appendRun();
+                if ((inQuotes || inField) && ensure(2) && buffer[pos + 1] == QUOTE) {
+                    appendByte(QUOTE);
+                    pos += 2;
+                } else {
+                    inQuotes = !inQuotes;
+                    if (isEmbeddedQuote()) {
+                        int fieldStart = getFieldStart(fieldCount);
+                        if (recordLength > fieldStart && isWhitespace(fieldStart, recordLength)) {
+                            recordLength = fieldStart;
+                        } else {
+                            appendByte(QUOTE);
+                        }
+                    }
+                    pos++;
+                }
+                inField = !inField;
+                runStart = pos;
+
+            } else if (inQuotes) {
+                pos++;
+                inField = true;
+
+            } else {
+                endField();
+                inField = false;
+                pos++;
+                runStart = pos;
+            }
+        }
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public int getFieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1];
+    }
+
+    public int getFieldEnd(int index) {
+        return fieldEnds[index];
+    }
+
+    public byte[] getRecordBytes() {
+        return record;
+    }
+
+    public String getField(int index) {
+        int start = getFieldStart(index);
+        return new String(record, start, fieldEnds[index] - start, StandardCharsets.UTF_8);
+    }
+
+    public String[] toArray() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = getField(i);
+        }
+        return fields;
+    }
+
+    public long position() {
+        return offset + pos;
+    }
+
+    private boolean isEscapable(byte b) {
+        return b == QUOTE || b == ESCAPE || b == SEPARATOR;
+    }
+
+    private boolean isEmbeddedQuote() throws IOException {
+        return lineCharsBefore(pos) > 2
+            && buffer[pos - 1] != SEPARATOR
+            && ensure(2)
+            && buffer[pos + 1] != SEPARATOR
+            && buffer[pos + 1] != CR
+            && buffer[pos + 1] != LF;
+    }
+
+    private int lineCharsBefore(int end) {
+        int chars = 0;
+        for (int i = lineStart; i < end && chars <= 2; i++) {
+            byte b = buffer[i];
+            if ((b & 0xc0) != 0x80) {
+                chars += (b & 0xf8) == 0xf0 ? 2 : 1;
+            }
+        }
+        return chars;
+    }
+
+    private boolean isWhitespace(int start, int end) {
+        String value = new String(record, start, end - start, StandardCharsets.UTF_8);
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void endField() {
+        appendRun();
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    private void appendRun() {
+        int length = pos - runStart;
+        if (length > 0) {
+            if (recordLength + length > record.length) {
+                record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + length));
+            }
+            System.arraycopy(buffer, runStart, record, recordLength, length);
+            recordLength += length;
+        }
+        runStart = pos;
+    }
+
+    private void appendByte(byte b) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = b;
+    }
+
+    private boolean ensure(int count) throws IOException {
+        while (limit - pos < count) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        if (lineStart > 0) {
+            offset += lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+            limit -= lineStart;
+            pos -= lineStart;
+            runStart -= lineStart;
+            lineStart = 0;
+        }
+
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.userprocessor.processor.csv;
+
+public class ScalarCsvScanner implements CsvScanner {
+
+    private static final boolean[] SPECIAL = new boolean[256];
+
+    static {
+        SPECIAL[SEPARATOR & 0xff] = true;
+        SPECIAL[QUOTE & 0xff] = true;
+        SPECIAL[ESCAPE & 0xff] = true;
+        SPECIAL[CR & 0xff] = true;
+        SPECIAL[LF & 0xff] = true;
+    }
+
+    @Override
+    public int indexOfSpecial(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (SPECIAL[buffer[i] & 0xff]) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,38 @@
+package com.userprocessor.processor.csv;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorCsvScanner implements CsvScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_256;
+
+    private final ScalarCsvScanner tail = new ScalarCsvScanner();
+
+    @Override
+    public int indexOfSpecial(byte[] buffer, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector chunk = ByteVector.fromArray(SPECIES, buffer, i);
+            VectorMask<Byte> special = chunk.eq(SEPARATOR)
+                .or(chunk.eq(QUOTE))
+                .or(chunk.eq(ESCAPE))
+                .or(chunk.eq(LF))
+                .or(chunk.eq(CR));
+
+            if (special.anyTrue()) {
+                return i + special.firstTrue();
+            }
+        }
+
+        return tail.indexOfSpecial(buffer, i, to);
+    }
+
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
@@ -1,75 +1,222 @@
 package com.userprocessor.processor.impl;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
-import com.userprocessor.dto.UserDto;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.userprocessor.config.ProcessingConfig;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.exception.FileProcessingException;
 import com.userprocessor.processor.BaseFileProcessor;
+import com.userprocessor.processor.MappedFileSplitter;
+import com.userprocessor.processor.UserRecord;
+import com.userprocessor.processor.UserRecordHandler;
+import com.userprocessor.processor.csv.CsvScanner;
+import com.userprocessor.processor.csv.CsvScanners;
+import com.userprocessor.processor.csv.CsvTokenizer;
+import com.userprocessor.util.ByteBufferInputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 @Component
 public class CsvFileProcessor extends BaseFileProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(CsvFileProcessor.class);
+
+    private final CsvScanner scanner;
+    private final ForkJoinPool parsePool;
+    private final int parallelism;
+    private final int rangeSize;
+    private final int maxLineBytes;
+    private final int maxRangesInFlight;
+    private final long mappedMinFileSize;
+
+    @Autowired
+    public CsvFileProcessor(ProcessingConfig processingConfig) {
+        this.scanner = CsvScanners.create(processingConfig.isCsvVectorScan());
+        logger.info("CSV parsing uses the {} delimiter scanner", scanner.getName());
+
+        this.parallelism = processingConfig.getParseParallelism() > 0
+            ? processingConfig.getParseParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.parsePool = new ForkJoinPool(parallelism);
+        this.rangeSize = processingConfig.getParseChunkSize();
+        this.maxLineBytes = processingConfig.getMaxLineBytes();
+        this.maxRangesInFlight = parallelism * 2;
+        this.mappedMinFileSize = processingConfig.getMappedMinFileSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdownNow();
+    }
+
     @Override
     public FileType getSupportedFileType() {
         return FileType.CSV;
     }
 
     @Override
-    public List<UserDto> processFile(MultipartFile file) throws Exception {
-        validateFileFormat(file);
-
-        List<UserDto> users = new ArrayList<>();
-        
-        try (CSVReader csvReader = new CSVReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            List<String[]> records = csvReader.readAll();
-            
-            if (records.isEmpty()) {
-                throw new FileProcessingException("CSV file is empty");
-            }
+    public void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(inputStream, scanner)) {
+            Columns columns = readHeader(tokenizer);
+            processRecords(tokenizer, 1, columns, handler);
+        } catch (IOException e) {
+            throw new FileProcessingException("Error reading CSV file: " + e.getMessage(), e);
+        }
+    }
 
-            String[] headers = records.get(0);
-            validateHeaders(headers);
+    @Override
+    public void processPath(Path path, UserRecordHandler handler) throws Exception {
+        if (parallelism < 2 || Files.size(path) < mappedMinFileSize) {
+            super.processPath(path, handler);
+            return;
+        }
+
+        Deque<Future<ParsedRange>> inFlight = new ArrayDeque<>();
 
-            int nameIndex = findHeaderIndex(headers, "name");
-            int emailIndex = findHeaderIndex(headers, "email");
+        try (MappedFileSplitter splitter = new MappedFileSplitter(path, rangeSize, maxLineBytes)) {
+            CsvTokenizer headerReader = new CsvTokenizer(splitter.streamFrom(0), scanner);
+            Columns columns = readHeader(headerReader);
+            splitter.seek(headerReader.position());
 
-            for (int i = 1; i < records.size(); i++) {
-                String[] record = records.get(i);
-                
-                if (record.length < Math.max(nameIndex, emailIndex) + 1) {
-                    throw new FileProcessingException("Insufficient columns at line " + (i + 1));
+            int lineNumber = 1;
+            MappedFileSplitter.Range range;
+            while ((range = splitter.next()) != null) {
+                if (inFlight.size() >= maxRangesInFlight
+                        && (lineNumber = drainNext(inFlight, splitter, lineNumber, columns, handler)) < 0) {
+                    return;
                 }
 
-                String name = record[nameIndex] != null ? record[nameIndex].trim() : "";
-                String email = record[emailIndex] != null ? record[emailIndex].trim() : "";
+                MappedFileSplitter.Range submitted = range;
+                inFlight.addLast(parsePool.submit(() -> parseRange(submitted, columns)));
+            }
 
-                if (name.isEmpty() && email.isEmpty()) {
-                    continue;
+            while (!inFlight.isEmpty()) {
+                if ((lineNumber = drainNext(inFlight, splitter, lineNumber, columns, handler)) < 0) {
+                    return;
                 }
+            }
 
-                UserDto userDto = new UserDto(name, email);
-                validateUserData(userDto, i + 1);
-                users.add(userDto);
+            if (splitter.hasRemaining()) {
+                processRecords(new CsvTokenizer(splitter.streamFrom(splitter.position()), scanner), lineNumber,
+                    columns, handler);
             }
 
         } catch (IOException e) {
-            throw new FileProcessingException("Error reading CSV file", e);
-        } catch (CsvException e) {
-            throw new FileProcessingException("Error parsing CSV file: " + e.getMessage(), e);
+            throw new FileProcessingException("Error reading CSV file: " + e.getMessage(), e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
         }
+    }
+
+    private int drainNext(Deque<Future<ParsedRange>> inFlight, MappedFileSplitter splitter, int lineNumber,
+                          Columns columns, UserRecordHandler handler) throws Exception {
+        ParsedRange parsed = inFlight.removeFirst().get();
+
+        if (!parsed.complete) {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+            processRecords(new CsvTokenizer(splitter.streamFrom(parsed.start), scanner), lineNumber, columns, handler);
+            return -1;
+        }
+
+        UserRecord userRecord = new UserRecord();
+        RangeLine originalLine = new RangeLine(parsed);
+        for (int row = 0; row < parsed.rowCount; row++) {
+            lineNumber++;
+            originalLine.row = row;
 
-        return users;
+            if (!parsed.isComplete(row)) {
+                handler.onInvalidRecord(lineNumber, "Insufficient columns at line " + lineNumber, originalLine);
+                continue;
+            }
+
+            parsed.setRecord(row, userRecord);
+            if (!userRecord.isEmpty()) {
+                handler.onRecord(userRecord, lineNumber, originalLine);
+            }
+        }
+        return lineNumber;
+    }
+
+    private ParsedRange parseRange(MappedFileSplitter.Range range, Columns columns) {
+        ParsedRange parsed = new ParsedRange(range, rangeSize);
+
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteBufferInputStream(range.getBuffer()), scanner)) {
+            long lineStart = tokenizer.position();
+            while (tokenizer.next()) {
+                parsed.add(tokenizer, columns, (int) lineStart, (int) tokenizer.position());
+                lineStart = tokenizer.position();
+            }
+            return parsed;
+        } catch (IOException e) {
+            parsed.complete = false;
+            return parsed;
+        }
+    }
+
+    private Columns readHeader(CsvTokenizer tokenizer) throws Exception {
+        String[] headers = tokenizer.readNext();
+
+        if (headers == null) {
+            throw new FileProcessingException("CSV file is empty");
+        }
+
+        validateHeaders(headers);
+
+        return new Columns(findHeaderIndex(headers, "name"), findHeaderIndex(headers, "email"));
+    }
+
+    private void processRecords(CsvTokenizer tokenizer, int lineNumber, Columns columns, UserRecordHandler handler)
+            throws Exception {
+        UserRecord userRecord = new UserRecord();
+        Supplier<String> originalLine = () -> toCsvLine(tokenizer.toArray());
+
+        while (tokenizer.next()) {
+            lineNumber++;
+
+            if (tokenizer.getFieldCount() < columns.required) {
+                handler.onInvalidRecord(lineNumber, "Insufficient columns at line " + lineNumber, originalLine);
+                continue;
+            }
+
+            byte[] bytes = tokenizer.getRecordBytes();
+            userRecord.setName(bytes, tokenizer.getFieldStart(columns.nameIndex),
+                tokenizer.getFieldEnd(columns.nameIndex));
+            userRecord.setEmail(bytes, tokenizer.getFieldStart(columns.emailIndex),
+                tokenizer.getFieldEnd(columns.emailIndex));
+
+            if (!userRecord.isEmpty()) {
+                handler.onRecord(userRecord, lineNumber, originalLine);
+            }
+        }
+    }
+
+    private String toCsvLine(String[] fields) {
+        StringWriter stringWriter = new StringWriter();
+        try (CSVWriter csvWriter = new CSVWriter(stringWriter, ICSVWriter.DEFAULT_SEPARATOR,
+                ICSVWriter.DEFAULT_QUOTE_CHARACTER, ICSVWriter.DEFAULT_ESCAPE_CHARACTER, "")) {
+            csvWriter.writeNext(fields, false);
+        } catch (IOException e) {
+            return String.join(",", fields);
+        }
+        return stringWriter.toString();
     }
 
     private void validateHeaders(String[] headers) throws FileProcessingException {
@@ -107,4 +254,105 @@ public class CsvFileProcessor extends BaseFileProcessor {
         }
         throw new FileProcessingException("Header '" + headerName + "' not found in CSV");
     }
+
+    private static class Columns {
+        private final int nameIndex;
+        private final int emailIndex;
+        private final int required;
+
+        Columns(int nameIndex, int emailIndex) {
+            this.nameIndex = nameIndex;
+            this.emailIndex = emailIndex;
+            this.required = Math.max(nameIndex, emailIndex) + 1;
+        }
+    }
+
+    private static class ParsedRange {
+        private static final int NAME_START = 0;
+        private static final int NAME_END = 1;
+        private static final int EMAIL_END = 2;
+        private static final int LINE_START = 3;
+        private static final int LINE_END = 4;
+        private static final int ROW_SLOTS = 5;
+
+        private final long start;
+        private final ByteBuffer buffer;
+        private byte[] fields;
+        private int fieldsLength;
+        private int[] rows = new int[ROW_SLOTS * 256];
+        private int rowCount;
+        private boolean complete = true;
+
+        ParsedRange(MappedFileSplitter.Range range, int rangeSize) {
+            this.start = range.getStart();
+            this.buffer = range.getBuffer();
+            this.fields = new byte[Math.max(256, Math.min(rangeSize, buffer.remaining()))];
+        }
+
+        void add(CsvTokenizer tokenizer, Columns columns, int lineStart, int lineEnd) {
+            int slot = rowCount * ROW_SLOTS;
+            if (slot + ROW_SLOTS > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rowCount++;
+            rows[slot + LINE_START] = lineStart;
+            rows[slot + LINE_END] = lineEnd;
+
+            if (tokenizer.getFieldCount() < columns.required) {
+                rows[slot + NAME_START] = -1;
+                return;
+            }
+
+            byte[] record = tokenizer.getRecordBytes();
+            rows[slot + NAME_START] = fieldsLength;
+            append(record, tokenizer.getFieldStart(columns.nameIndex), tokenizer.getFieldEnd(columns.nameIndex));
+            rows[slot + NAME_END] = fieldsLength;
+            append(record, tokenizer.getFieldStart(columns.emailIndex), tokenizer.getFieldEnd(columns.emailIndex));
+            rows[slot + EMAIL_END] = fieldsLength;
+        }
+
+        boolean isComplete(int row) {
+            return rows[row * ROW_SLOTS + NAME_START] >= 0;
+        }
+
+        void setRecord(int row, UserRecord userRecord) {
+            int slot = row * ROW_SLOTS;
+            userRecord.setName(fields, rows[slot + NAME_START], rows[slot + NAME_END]);
+            userRecord.setEmail(fields, rows[slot + NAME_END], rows[slot + EMAIL_END]);
+        }
+
+        ByteBuffer line(int row) {
+            int slot = row * ROW_SLOTS;
+            int from = buffer.position() + rows[slot + LINE_START];
+            return buffer.slice(from, rows[slot + LINE_END] - rows[slot + LINE_START]);
+        }
+
+        private void append(byte[] bytes, int from, int to) {
+            int length = to - from;
+            if (fieldsLength + length > fields.length) {
+                fields = Arrays.copyOf(fields, Math.max(fields.length * 2, fieldsLength + length));
+            }
+            System.arraycopy(bytes, from, fields, fieldsLength, length);
+            fieldsLength += length;
+        }
+    }
+
+    private class RangeLine implements Supplier<String> {
+        private final ParsedRange range;
+        private int row;
+
+        RangeLine(ParsedRange range) {
+            this.range = range;
+        }
+
+        @Override
+        public String get() {
+            try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteBufferInputStream(range.line(row)), scanner)) {
+                String[] fields = tokenizer.readNext();
+                return fields != null ? toCsvLine(fields) : "";
+            } catch (IOException e) {
+                return StandardCharsets.UTF_8.decode(range.line(row)).toString();
+            }
+        }
+    }
 }
@@ -1,27 +1,31 @@
 package com.userprocessor.processor.impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.userprocessor.dto.UserDto;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.exception.FileProcessingException;
 import com.userprocessor.processor.BaseFileProcessor;
+import com.userprocessor.processor.UserRecordHandler;
+import com.userprocessor.service.SerializationService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
 
 @Component
 public class JsonFileProcessor extends BaseFileProcessor {
 
-    private final ObjectMapper objectMapper;
+    private final SerializationService serializationService;
+    private final ObjectReader nodeReader;
 
-    public JsonFileProcessor() {
-        this.objectMapper = new ObjectMapper();
+    @Autowired
+    public JsonFileProcessor(SerializationService serializationService) {
+        this.serializationService = serializationService;
+        this.nodeReader = serializationService.readerFor(JsonNode.class);
     }
 
     @Override
@@ -30,27 +34,31 @@ public class JsonFileProcessor extends BaseFileProcessor {
     }
 
     @Override
-    public List<UserDto> processFile(MultipartFile file) throws Exception {
-        validateFileFormat(file);
+    public void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception {
+        try (JsonParser parser = serializationService.getJsonFactory().createParser(inputStream)) {
 
-        List<UserDto> users = new ArrayList<>();
-
-        try {
-            JsonNode rootNode = objectMapper.readTree(file.getInputStream());
+            JsonToken firstToken = parser.nextToken();
+            if (firstToken == null) {
+                throw new FileProcessingException("JSON file is empty");
+            }
 
-            if (!rootNode.isArray()) {
+            if (firstToken != JsonToken.START_ARRAY) {
                 throw new FileProcessingException("JSON file must contain an array of user objects");
             }
 
-            if (rootNode.size() == 0) {
-                throw new FileProcessingException("JSON array is empty");
-            }
+            int index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new FileProcessingException("Invalid JSON format: unexpected end of input");
+                }
 
-            for (int i = 0; i < rootNode.size(); i++) {
-                JsonNode userNode = rootNode.get(i);
-                
-                if (!userNode.isObject()) {
-                    throw new FileProcessingException("Invalid user object at index " + i);
+                JsonNode userNode = nodeReader.readTree(parser);
+                index++;
+
+                if (token != JsonToken.START_OBJECT) {
+                    handler.onInvalidRecord(index, "Invalid user object at index " + (index - 1), userNode::toString);
+                    continue;
                 }
 
                 String name = getStringValue(userNode, "name");
@@ -66,20 +74,16 @@ public class JsonFileProcessor extends BaseFileProcessor {
                     email != null ? email.trim() : ""
                 );
 
-                validateUserData(userDto, i + 1);
-                users.add(userDto);
+                handler.onRecord(userDto, index, userNode::toString);
+            }
+
+            if (index == 0) {
+                throw new FileProcessingException("JSON array is empty");
             }
 
         } catch (IOException e) {
             throw new FileProcessingException("Error reading JSON file: " + e.getMessage(), e);
-        } catch (Exception e) {
-            if (e instanceof FileProcessingException) {
-                throw e;
-            }
-            throw new FileProcessingException("Error processing JSON file: " + e.getMessage(), e);
         }
-
-        return users;
     }
 
     private String getStringValue(JsonNode node, String fieldName) {
@@ -89,18 +93,4 @@ public class JsonFileProcessor extends BaseFileProcessor {
         }
         return fieldNode.asText();
     }
-
-    @Override
-    public void validateFileFormat(MultipartFile file) throws Exception {
-        super.validateFileFormat(file);
-
-        try {
-            JsonNode rootNode = objectMapper.readTree(file.getInputStream());
-            if (!rootNode.isArray()) {
-                throw new FileProcessingException("JSON file must contain an array of objects");
-            }
-        } catch (IOException e) {
-            throw new FileProcessingException("Invalid JSON format: " + e.getMessage(), e);
-        }
-    }
 }
@@ -0,0 +1,379 @@
+package com.userprocessor.processor.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.processor.BaseFileProcessor;
+import com.userprocessor.processor.MappedFileSplitter;
+import com.userprocessor.processor.UserRecordHandler;
+import com.userprocessor.service.SerializationService;
+import com.userprocessor.util.ByteBufferInputStream;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+@Component
+public class NdjsonFileProcessor extends BaseFileProcessor {
+
+    private final ObjectReader nodeReader;
+    private final ForkJoinPool parsePool;
+    private final int chunkSize;
+    private final int maxLineBytes;
+    private final int maxChunksInFlight;
+    private final long mappedMinFileSize;
+
+    @Autowired
+    public NdjsonFileProcessor(SerializationService serializationService, ProcessingConfig processingConfig) {
+        this.nodeReader = serializationService.readerFor(JsonNode.class);
+
+        int parallelism = processingConfig.getParseParallelism() > 0
+            ? processingConfig.getParseParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.parsePool = new ForkJoinPool(parallelism);
+        this.chunkSize = processingConfig.getParseChunkSize();
+        this.maxLineBytes = processingConfig.getMaxLineBytes();
+        this.maxChunksInFlight = parallelism * 2;
+        this.mappedMinFileSize = processingConfig.getMappedMinFileSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdownNow();
+    }
+
+    @Override
+    public FileType getSupportedFileType() {
+        return FileType.NDJSON;
+    }
+
+    @Override
+    public void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception {
+        parseChunks(new StreamChunks(inputStream), handler);
+    }
+
+    @Override
+    public void processPath(Path path, UserRecordHandler handler) throws Exception {
+        if (Files.size(path) < mappedMinFileSize) {
+            super.processPath(path, handler);
+            return;
+        }
+
+        try (MappedFileSplitter splitter = new MappedFileSplitter(path, chunkSize, maxLineBytes)) {
+            ChunkSource[] remainder = {null};
+            parseChunks(() -> {
+                if (remainder[0] == null) {
+                    MappedFileSplitter.Range range = splitter.next();
+                    if (range != null || !splitter.hasRemaining()) {
+                        return range != null ? new Chunk(range) : null;
+                    }
+                    remainder[0] = new StreamChunks(splitter.streamFrom(splitter.position()));
+                }
+                return remainder[0].next();
+            }, handler);
+        }
+    }
+
+    private void parseChunks(ChunkSource source, UserRecordHandler handler) throws Exception {
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        boolean anyRecords = false;
+        int nextLineNumber = 1;
+
+        try {
+            Chunk chunk;
+            while ((chunk = source.next()) != null) {
+                if (inFlight.size() >= maxChunksInFlight) {
+                    ParsedChunk parsed = inFlight.removeFirst().get();
+                    anyRecords |= drain(parsed, nextLineNumber, handler);
+                    nextLineNumber += parsed.lineCount;
+                }
+
+                Chunk submitted = chunk;
+                inFlight.addLast(parsePool.submit(() -> parseChunk(submitted)));
+            }
+
+            while (!inFlight.isEmpty()) {
+                ParsedChunk parsed = inFlight.removeFirst().get();
+                anyRecords |= drain(parsed, nextLineNumber, handler);
+                nextLineNumber += parsed.lineCount;
+            }
+
+        } catch (IOException e) {
+            throw new FileProcessingException("Error reading NDJSON file: " + e.getMessage(), e);
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        if (!anyRecords) {
+            throw new FileProcessingException("NDJSON file is empty");
+        }
+    }
+
+    private boolean drain(ParsedChunk chunk, int firstLineNumber, UserRecordHandler handler) throws Exception {
+        for (ParsedLine line : chunk.lines) {
+            int lineNumber = firstLineNumber + line.lineOffset;
+            if (line.error != null) {
+                handler.onInvalidRecord(lineNumber, line.error.apply(lineNumber), line::originalLine);
+            } else {
+                handler.onRecord(line.userDto, lineNumber, line::originalLine);
+            }
+        }
+
+        if (chunk.oversizedLine >= 0) {
+            throw new FileProcessingException(String.format("NDJSON line %d exceeds the maximum length of %d bytes",
+                firstLineNumber + chunk.oversizedLine, maxLineBytes));
+        }
+        return !chunk.lines.isEmpty();
+    }
+
+    private Chunk readChunk(InputStream inputStream, byte[] carry) throws IOException {
+        byte[] buffer = Arrays.copyOf(carry, Math.max(chunkSize, carry.length * 2));
+        int length = carry.length;
+        int scanFrom = 0;
+
+        while (true) {
+            int read = inputStream.readNBytes(buffer, length, buffer.length - length);
+            length += read;
+
+            if (length < buffer.length) {
+                if (length == 0) {
+                    return null;
+                }
+                return new Chunk(buffer, length, new byte[0]);
+            }
+
+            int lastNewline = lastIndexOf(buffer, scanFrom, length, (byte) '\n');
+            if (lastNewline >= 0) {
+                byte[] remainder = Arrays.copyOfRange(buffer, lastNewline + 1, length);
+                return new Chunk(buffer, lastNewline + 1, remainder);
+            }
+
+            if (length > maxLineBytes) {
+                return Chunk.oversized();
+            }
+
+            scanFrom = length;
+            buffer = Arrays.copyOf(buffer, (int) Math.min(buffer.length * 2L, maxLineBytes + 1L));
+        }
+    }
+
+    private int lastIndexOf(byte[] buffer, int from, int to, byte value) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ParsedChunk parseChunk(Chunk chunk) {
+        if (chunk.oversized) {
+            return new ParsedChunk(List.of(), 0, 0);
+        }
+        if (chunk.range != null) {
+            return parseLines(chunk.range.getBuffer());
+        }
+        return parseLines(ByteBuffer.wrap(chunk.data, 0, chunk.length));
+    }
+
+    private ParsedChunk parseLines(ByteBuffer data) {
+        List<ParsedLine> lines = new ArrayList<>();
+        int length = data.limit();
+        int lineOffset = 0;
+        int start = data.position();
+
+        while (start < length) {
+            int end = start;
+            while (end < length && data.get(end) != '\n') {
+                end++;
+            }
+
+            int contentEnd = end;
+            if (contentEnd > start && data.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+
+            if (contentEnd - start > maxLineBytes) {
+                return new ParsedChunk(lines, lineOffset, lineOffset);
+            }
+
+            ParsedLine line = parseLine(data, start, contentEnd, lineOffset);
+            if (line != null) {
+                lines.add(line);
+            }
+
+            lineOffset++;
+            start = end + 1;
+        }
+        return new ParsedChunk(lines, lineOffset, -1);
+    }
+
+    private ParsedLine parseLine(ByteBuffer data, int start, int end, int lineOffset) {
+        if (isBlank(data, start, end)) {
+            return null;
+        }
+
+        JsonNode userNode;
+        try {
+            userNode = readTree(data, start, end);
+        } catch (JsonProcessingException e) {
+            String message = e.getOriginalMessage();
+            return new ParsedLine(null, lineNumber -> "Invalid JSON at line " + lineNumber + ": " + message,
+                lineOffset, data, start, end);
+        } catch (IOException e) {
+            return new ParsedLine(null, lineNumber -> "Error reading JSON at line " + lineNumber,
+                lineOffset, data, start, end);
+        }
+
+        if (userNode == null || !userNode.isObject()) {
+            return new ParsedLine(null, lineNumber -> "Invalid user object at line " + lineNumber,
+                lineOffset, data, start, end);
+        }
+
+        String name = getStringValue(userNode, "name");
+        String email = getStringValue(userNode, "email");
+
+        if (name.isEmpty() && email.isEmpty()) {
+            return null;
+        }
+
+        return new ParsedLine(new UserDto(name, email), null, lineOffset, data, start, end);
+    }
+
+    private JsonNode readTree(ByteBuffer data, int start, int end) throws IOException {
+        if (data.hasArray()) {
+            return nodeReader.readTree(data.array(), data.arrayOffset() + start, end - start);
+        }
+        return nodeReader.readTree(new ByteBufferInputStream(data.slice(start, end - start)));
+    }
+
+    private boolean isBlank(ByteBuffer data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = data.get(i);
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getStringValue(JsonNode node, String fieldName) {
+        JsonNode fieldNode = node.get(fieldName);
+        if (fieldNode == null || fieldNode.isNull()) {
+            return "";
+        }
+        return fieldNode.asText().trim();
+    }
+
+    @FunctionalInterface
+    private interface ChunkSource {
+        Chunk next() throws IOException;
+    }
+
+    private class StreamChunks implements ChunkSource {
+        private final InputStream inputStream;
+        private byte[] carry = new byte[0];
+
+        StreamChunks(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public Chunk next() throws IOException {
+            if (carry == null) {
+                return null;
+            }
+            Chunk chunk = readChunk(inputStream, carry);
+            carry = chunk != null ? chunk.remainder : null;
+            return chunk;
+        }
+    }
+
+    private static class Chunk {
+        private final byte[] data;
+        private final int length;
+        private final byte[] remainder;
+        private final MappedFileSplitter.Range range;
+        private final boolean oversized;
+
+        Chunk(byte[] data, int length, byte[] remainder) {
+            this.data = data;
+            this.length = length;
+            this.remainder = remainder;
+            this.range = null;
+            this.oversized = false;
+        }
+
+        Chunk(MappedFileSplitter.Range range) {
+            this.data = null;
+            this.length = 0;
+            this.remainder = null;
+            this.range = range;
+            this.oversized = false;
+        }
+
+        private Chunk() {
+            this.data = null;
+            this.length = 0;
+            this.remainder = null;
+            this.range = null;
+            this.oversized = true;
+        }
+
+        static Chunk oversized() {
+            return new Chunk();
+        }
+    }
+
+    private static class ParsedChunk {
+        private final List<ParsedLine> lines;
+        private final int lineCount;
+        private final int oversizedLine;
+
+        ParsedChunk(List<ParsedLine> lines, int lineCount, int oversizedLine) {
+            this.lines = lines;
+            this.lineCount = lineCount;
+            this.oversizedLine = oversizedLine;
+        }
+    }
+
+    private static class ParsedLine {
+        private final UserDto userDto;
+        private final IntFunction<String> error;
+        private final int lineOffset;
+        private final ByteBuffer data;
+        private final int start;
+        private final int end;
+
+        ParsedLine(UserDto userDto, IntFunction<String> error, int lineOffset, ByteBuffer data, int start, int end) {
+            this.userDto = userDto;
+            this.error = error;
+            this.lineOffset = lineOffset;
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        String originalLine() {
+            return StandardCharsets.UTF_8.decode(data.slice(start, end - start)).toString();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.userprocessor.processor.impl;
+
+import com.userprocessor.config.UploadConfig;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.processor.BaseFileProcessor;
+import com.userprocessor.processor.UserRecordHandler;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.ParquetRuntimeException;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Component
+public class ParquetFileProcessor extends BaseFileProcessor {
+
+    private final UploadConfig uploadConfig;
+
+    @Autowired
+    public ParquetFileProcessor(UploadConfig uploadConfig) {
+        this.uploadConfig = uploadConfig;
+    }
+
+    @Override
+    public FileType getSupportedFileType() {
+        return FileType.PARQUET;
+    }
+
+    @Override
+    public void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception {
+        Path storagePath = uploadConfig.getStoragePath();
+        Files.createDirectories(storagePath);
+
+        Path staged = Files.createTempFile(storagePath, "parquet-", ".staged");
+        try {
+            Files.copy(inputStream, staged, StandardCopyOption.REPLACE_EXISTING);
+            processPath(staged, handler);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public void processPath(Path path, UserRecordHandler handler) throws Exception {
+        try (ParquetFileReader reader = openReader(path)) {
+
+            MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+            MessageType projection = new MessageType(fileSchema.getName(),
+                findColumn(fileSchema, "name"), findColumn(fileSchema, "email"));
+            reader.setRequestedSchema(projection);
+
+            ColumnIOFactory columnIOFactory = new ColumnIOFactory();
+            int lineNumber = 0;
+            PageReadStore rowGroup;
+
+            while ((rowGroup = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> recordReader = columnIOFactory.getColumnIO(projection)
+                    .getRecordReader(rowGroup, new GroupRecordConverter(projection));
+
+                for (long i = 0, rows = rowGroup.getRowCount(); i < rows; i++) {
+                    Group group = recordReader.read();
+                    lineNumber++;
+
+                    String name = getString(group, 0);
+                    String email = getString(group, 1);
+
+                    if (name.isEmpty() && email.isEmpty()) {
+                        continue;
+                    }
+
+                    handler.onRecord(new UserDto(name, email), lineNumber, () -> name + "," + email);
+                }
+            }
+
+        } catch (IOException | ParquetRuntimeException e) {
+            throw new FileProcessingException("Error reading Parquet file: " + e.getMessage(), e);
+        }
+    }
+
+    private ParquetFileReader openReader(Path path) throws IOException, FileProcessingException {
+        try {
+            return ParquetFileReader.open(new LocalInputFile(path), ParquetReadOptions.builder().build());
+        } catch (RuntimeException e) {
+            throw new FileProcessingException("File is not a valid Parquet file", e);
+        }
+    }
+
+    private Type findColumn(MessageType schema, String columnName) throws FileProcessingException {
+        for (Type field : schema.getFields()) {
+            if (columnName.equalsIgnoreCase(field.getName())) {
+                if (!field.isPrimitive() || field.asPrimitiveType().getPrimitiveTypeName()
+                        != PrimitiveType.PrimitiveTypeName.BINARY || field.isRepetition(Type.Repetition.REPEATED)) {
+                    throw new FileProcessingException("Parquet column '" + columnName + "' must be a string column");
+                }
+                return field;
+            }
+        }
+        throw new FileProcessingException("Parquet file must have a '" + columnName + "' column");
+    }
+
+    private String getString(Group group, int fieldIndex) {
+        if (group.getFieldRepetitionCount(fieldIndex) == 0) {
+            return "";
+        }
+        return group.getString(fieldIndex, 0).trim();
+    }
+}
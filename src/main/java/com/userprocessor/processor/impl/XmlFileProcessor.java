@@ -1,127 +1,107 @@
 package com.userprocessor.processor.impl;
 
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.userprocessor.dto.UserDto;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.exception.FileProcessingException;
 import com.userprocessor.processor.BaseFileProcessor;
+import com.userprocessor.processor.UserRecordHandler;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
 
 @Component
 public class XmlFileProcessor extends BaseFileProcessor {
 
+    private final XMLInputFactory xmlInputFactory;
+
+    public XmlFileProcessor() {
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
     @Override
     public FileType getSupportedFileType() {
         return FileType.XML;
     }
 
     @Override
-    public List<UserDto> processFile(MultipartFile file) throws Exception {
-        validateFileFormat(file);
-
-        List<UserDto> users = new ArrayList<>();
+    public void processStream(InputStream inputStream, UserRecordHandler handler) throws Exception {
+        XMLStreamReader reader = null;
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file.getInputStream());
-            document.getDocumentElement().normalize();
-
-            Element rootElement = document.getDocumentElement();
-            
-            if (!"users".equals(rootElement.getNodeName())) {
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
+
+            if (reader.nextTag() != XMLStreamConstants.START_ELEMENT
+                    || !"users".equals(reader.getLocalName())) {
                 throw new FileProcessingException("XML root element must be 'users'");
             }
 
-            NodeList userNodes = rootElement.getElementsByTagName("user");
-            
-            if (userNodes.getLength() == 0) {
-                throw new FileProcessingException("No user elements found in XML");
-            }
+            int index = 0;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT
+                        || !"user".equals(reader.getLocalName())) {
+                    continue;
+                }
+
+                index++;
+                UserDto userDto = readUser(reader);
 
-            for (int i = 0; i < userNodes.getLength(); i++) {
-                Node userNode = userNodes.item(i);
-                
-                if (userNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element userElement = (Element) userNode;
-                    
-                    String name = getElementTextContent(userElement, "name");
-                    String email = getElementTextContent(userElement, "email");
-
-                    if ((name == null || name.trim().isEmpty()) && 
-                        (email == null || email.trim().isEmpty())) {
-                        continue;
-                    }
-
-                    UserDto userDto = new UserDto(
-                        name != null ? name.trim() : "",
-                        email != null ? email.trim() : ""
-                    );
-
-                    validateUserData(userDto, i + 1);
-                    users.add(userDto);
+                if ((userDto.getName() == null || userDto.getName().trim().isEmpty()) && 
+                    (userDto.getEmail() == null || userDto.getEmail().trim().isEmpty())) {
+                    continue;
                 }
-            }
 
-        } catch (Exception e) {
-            if (e instanceof FileProcessingException) {
-                throw e;
+                userDto.setName(userDto.getName() != null ? userDto.getName().trim() : "");
+                userDto.setEmail(userDto.getEmail() != null ? userDto.getEmail().trim() : "");
+
+                handler.onRecord(userDto, index, () -> toXml(userDto));
             }
-            throw new FileProcessingException("Error processing XML file: " + e.getMessage(), e);
-        }
 
-        return users;
-    }
+            if (index == 0) {
+                throw new FileProcessingException("No user elements found in XML");
+            }
 
-    private String getElementTextContent(Element parentElement, String tagName) {
-        NodeList nodeList = parentElement.getElementsByTagName(tagName);
-        if (nodeList.getLength() > 0) {
-            Node node = nodeList.item(0);
-            if (node != null) {
-                return node.getTextContent();
+        } catch (XMLStreamException e) {
+            throw new FileProcessingException("Error processing XML file: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                reader.close();
             }
         }
-        return null;
     }
 
-    @Override
-    public void validateFileFormat(MultipartFile file) throws Exception {
-        super.validateFileFormat(file);
+    private String toXml(UserDto userDto) {
+        return "<user><name>" + HtmlUtils.htmlEscape(userDto.getName()) + "</name><email>"
+            + HtmlUtils.htmlEscape(userDto.getEmail()) + "</email></user>";
+    }
 
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file.getInputStream());
-            
-            Element rootElement = document.getDocumentElement();
-            if (!"users".equals(rootElement.getNodeName())) {
-                throw new FileProcessingException("XML root element must be 'users'");
-            }
-            
-        } catch (Exception e) {
-            if (e instanceof FileProcessingException) {
-                throw e;
+    private UserDto readUser(XMLStreamReader reader) throws XMLStreamException {
+        UserDto userDto = new UserDto();
+        int depth = 1;
+
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String localName = reader.getLocalName();
+                if ("name".equals(localName) && userDto.getName() == null) {
+                    userDto.setName(reader.getElementText());
+                } else if ("email".equals(localName) && userDto.getEmail() == null) {
+                    userDto.setEmail(reader.getElementText());
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
             }
-            throw new FileProcessingException("Invalid XML format: " + e.getMessage(), e);
         }
+
+        return userDto;
     }
 }
@@ -0,0 +1,323 @@
+package com.userprocessor.repository;
+
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.sort.UserSortOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Repository
+public class UserBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO users (name, email, source, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String SKIP_CONFLICTS_SQL = " ON CONFLICT (email) DO NOTHING";
+    private static final String UPDATE_CONFLICTS_SQL = " ON CONFLICT (email) DO UPDATE " +
+        "SET name = EXCLUDED.name, updated_at = EXCLUDED.updated_at WHERE users.name IS DISTINCT FROM EXCLUDED.name";
+    private static final String MERGE_SQL = "MERGE INTO users u USING (VALUES (CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+        "AS s(name, email, source, created_at, updated_at) ON u.email = s.email " +
+        "WHEN MATCHED AND u.name <> s.name THEN UPDATE SET name = s.name, updated_at = s.updated_at " +
+        "WHEN NOT MATCHED THEN INSERT (name, email, source, created_at, updated_at) " +
+        "VALUES (s.name, s.email, s.source, s.created_at, s.updated_at)";
+    private static final String UPDATE_NAME_SQL = "UPDATE users SET name = ?, updated_at = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE id = ?";
+    private static final String SELECT_USERS_SQL = "SELECT id, name, email, source, created_at, updated_at FROM users";
+    private static final String SOURCE_SQL = "SELECT id, name, email FROM users WHERE source = ? ORDER BY email";
+    private static final String BINARY_COLLATION = " COLLATE \"C\"";
+    private static final String[] GENERATED_COLUMNS = {"id", "email"};
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final String upsertSql;
+    private final String sourceSql;
+    private final String textCollation;
+
+    @Autowired
+    public UserBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = "PostgreSQL".equals(databaseName(jdbcTemplate.getDataSource()));
+        this.insertSql = postgres ? INSERT_SQL + SKIP_CONFLICTS_SQL : INSERT_SQL;
+        this.upsertSql = postgres ? INSERT_SQL + UPDATE_CONFLICTS_SQL : MERGE_SQL;
+        this.textCollation = postgres ? BINARY_COLLATION : "";
+        this.sourceSql = SOURCE_SQL + textCollation;
+    }
+
+    public Set<String> findExistingEmails(List<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        String sql = "SELECT email FROM users WHERE email IN (" + placeholders(emails.size()) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, emails.toArray()));
+    }
+
+    public Map<String, UserResponseDto> findExistingUsers(List<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        String sql = SELECT_USERS_SQL + " WHERE email IN (" + placeholders(emails.size()) + ")";
+        Map<String, UserResponseDto> users = new HashMap<>(emails.size() * 2);
+        jdbcTemplate.query(sql, (ResultSet rs) -> {
+            UserResponseDto user = mapUser(rs, 0);
+            users.put(user.getEmail(), user);
+        }, emails.toArray());
+        return users;
+    }
+
+    public Stream<UserResponseDto> streamAll() {
+        return stream(SELECT_USERS_SQL, UserBatchRepository::mapUser);
+    }
+
+    public boolean isIndexed(UserSortOrder order) {
+        return order.isIndexed(textCollation.isEmpty());
+    }
+
+    public Stream<UserResponseDto> streamAll(UserSortOrder order) {
+        return stream(SELECT_USERS_SQL + " ORDER BY " + order.toSql(textCollation), UserBatchRepository::mapUser);
+    }
+
+    public List<UserResponseDto> findPage(UserSortOrder order, long offset, int limit) {
+        return jdbcTemplate.query(SELECT_USERS_SQL + " ORDER BY " + order.toSql(textCollation) + " LIMIT ? OFFSET ?",
+            UserBatchRepository::mapUser, limit, offset);
+    }
+
+    public long[] insertAll(List<? extends CharSequence> names, List<String> emails, List<String> sources,
+                            LocalDateTime timestamp) {
+        return write(jdbcTemplate, insertSql, names, emails, sources, timestamp);
+    }
+
+    public long[] upsertAll(List<? extends CharSequence> names, List<String> emails, List<String> sources,
+                            LocalDateTime timestamp) {
+        return write(jdbcTemplate, upsertSql, names, emails, sources, timestamp);
+    }
+
+    public Stream<UserResponseDto> streamBySource(String source) {
+        return stream(sourceSql, (rs, rowNum) -> new UserResponseDto(rs.getLong("id"), rs.getString("name"),
+            rs.getString("email"), source, null, null), source);
+    }
+
+    public void updateNames(List<Long> ids, List<String> names, LocalDateTime timestamp) {
+        Timestamp updatedAt = Timestamp.valueOf(timestamp);
+        executeBatch(UPDATE_NAME_SQL, ids.size(), (statement, i) -> {
+            statement.setString(1, nameOrEmpty(names.get(i)));
+            statement.setTimestamp(2, updatedAt);
+            statement.setLong(3, ids.get(i));
+        });
+    }
+
+    public void deleteAll(List<Long> ids) {
+        executeBatch(DELETE_SQL, ids.size(), (statement, i) -> statement.setLong(1, ids.get(i)));
+    }
+
+    public BatchWriter openWriter() {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        try {
+            Connection connection = dataSource.getConnection();
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            return new BatchWriter(connection);
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain a connection for a batch writer", e);
+        }
+    }
+
+    private long[] write(JdbcTemplate template, String sql, List<? extends CharSequence> names, List<String> emails,
+                         List<String> sources, LocalDateTime timestamp) {
+        Timestamp createdAt = Timestamp.valueOf(timestamp);
+
+        return inSavepoint(template, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, GENERATED_COLUMNS)) {
+                for (int i = 0; i < names.size(); i++) {
+                    statement.setString(1, nameOrEmpty(names.get(i)));
+                    statement.setString(2, emails.get(i));
+                    statement.setString(3, sources.get(i));
+                    statement.setTimestamp(4, createdAt);
+                    statement.setTimestamp(5, createdAt);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                Map<String, Long> inserted = new HashMap<>(names.size() * 2);
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        inserted.put(keys.getString(2), keys.getLong(1));
+                    }
+                }
+
+                long[] ids = new long[names.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = inserted.getOrDefault(emails.get(i), 0L);
+                }
+                return ids;
+            }
+        });
+    }
+
+    private <T> Stream<T> stream(String sql, RowMapper<T> rowMapper, String... args) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setString(i + 1, args[i]);
+            }
+            return statement;
+        }, rowMapper);
+    }
+
+    private void executeBatch(String sql, int size, StatementBinder binder) {
+        inSavepoint(jdbcTemplate, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < size; i++) {
+                    binder.bind(statement, i);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    private static <T> T inSavepoint(JdbcTemplate template, ConnectionCallback<T> action) {
+        return template.execute((Connection connection) -> {
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try {
+                T result = action.doInConnection(connection);
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return result;
+            } catch (SQLException e) {
+                if (savepoint != null) {
+                    rollbackTo(connection, savepoint, e);
+                }
+                throw e;
+            }
+        });
+    }
+
+    private static void rollbackTo(Connection connection, Savepoint savepoint, SQLException failure) {
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static String nameOrEmpty(CharSequence name) {
+        return name != null ? name.toString() : "";
+    }
+
+    private static UserResponseDto mapUser(ResultSet rs, int rowNum) throws SQLException {
+        return new UserResponseDto(rs.getLong("id"), rs.getString("name"), rs.getString("email"),
+            rs.getString("source"), toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String databaseName(DataSource dataSource) {
+        try {
+            return JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            return null;
+        }
+    }
+
+    private String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.toString();
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+
+    public class BatchWriter implements Closeable {
+
+        private final Connection connection;
+        private final JdbcTemplate template;
+        private boolean committed;
+
+        BatchWriter(Connection connection) {
+            this.connection = connection;
+            this.template = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        }
+
+        public long[] insertAll(List<? extends CharSequence> names, List<String> emails, List<String> sources,
+                                LocalDateTime timestamp) {
+            return write(template, insertSql, names, emails, sources, timestamp);
+        }
+
+        public long[] upsertAll(List<? extends CharSequence> names, List<String> emails, List<String> sources,
+                                LocalDateTime timestamp) {
+            return write(template, upsertSql, names, emails, sources, timestamp);
+        }
+
+        public void commit() {
+            try {
+                connection.commit();
+                committed = true;
+            } catch (SQLException e) {
+                throw translate("commit", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!committed) {
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                throw translate("rollback", e);
+            } finally {
+                JdbcUtils.closeConnection(connection);
+            }
+        }
+
+        private DataAccessException translate(String task, SQLException e) {
+            DataAccessException translated = template.getExceptionTranslator().translate(task, null, e);
+            return translated != null ? translated : new UncategorizedSQLException(task, null, e);
+        }
+    }
+}
@@ -5,11 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -28,4 +31,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u.source, COUNT(u) FROM User u GROUP BY u.source")
     List<Object[]> countUsersBySource();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC")
+    Stream<User> streamAllOrderByCreatedAtDesc();
 }
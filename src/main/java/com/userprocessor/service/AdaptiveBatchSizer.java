@@ -0,0 +1,131 @@
+package com.userprocessor.service;
+
+import com.userprocessor.config.ProcessingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AdaptiveBatchSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBatchSizer.class);
+
+    private static final int RECENT_DECISIONS = 20;
+    private static final double SMOOTHING = 0.2;
+    private static final String INCREASE = "increase";
+    private static final String DECREASE = "decrease";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int maxSize;
+    private final int increment;
+    private final long targetLatencyNanos;
+
+    private int size;
+    private long batches;
+    private long increases;
+    private long decreases;
+    private long failures;
+    private double averageLatencyMs;
+    private long lastLatencyMs;
+    private final Deque<Map<String, Object>> recentDecisions = new ArrayDeque<>(RECENT_DECISIONS);
+
+    @Autowired
+    public AdaptiveBatchSizer(ProcessingConfig processingConfig) {
+        this.enabled = processingConfig.isAdaptiveBatchSize();
+        this.minSize = Math.max(1, processingConfig.getMinInsertBatchSize());
+        this.maxSize = Math.max(minSize, processingConfig.getMaxInsertBatchSize());
+        this.increment = Math.max(1, processingConfig.getInsertBatchIncrement());
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(processingConfig.getInsertLatencyTargetMs());
+        this.size = enabled
+            ? Math.min(maxSize, Math.max(minSize, processingConfig.getInsertBatchSize()))
+            : Math.max(1, processingConfig.getInsertBatchSize());
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized void recordBatch(int rows, long latencyNanos) {
+        batches++;
+        lastLatencyMs = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        averageLatencyMs = batches == 1
+            ? lastLatencyMs
+            : averageLatencyMs + SMOOTHING * (lastLatencyMs - averageLatencyMs);
+
+        if (!enabled) {
+            return;
+        }
+
+        if (latencyNanos > targetLatencyNanos) {
+            decrease("latency " + lastLatencyMs + "ms above target for " + rows + " rows");
+        } else if (rows >= size && size < maxSize) {
+            int previous = size;
+            size = Math.min(maxSize, size + increment);
+            increases++;
+            remember(INCREASE, previous, "latency " + lastLatencyMs + "ms within target for " + rows + " rows");
+        }
+    }
+
+    public synchronized void recordFailure(int rows, Exception e) {
+        failures++;
+        if (enabled) {
+            decrease(rows + "-row batch failed: " + e.getClass().getSimpleName());
+        }
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("currentSize", size);
+        statistics.put("minSize", minSize);
+        statistics.put("maxSize", maxSize);
+        statistics.put("targetLatencyMs", TimeUnit.NANOSECONDS.toMillis(targetLatencyNanos));
+        statistics.put("batches", batches);
+        statistics.put("increases", increases);
+        statistics.put("decreases", decreases);
+        statistics.put("failures", failures);
+        statistics.put("lastLatencyMs", lastLatencyMs);
+        statistics.put("averageLatencyMs", Math.round(averageLatencyMs * 10) / 10.0);
+
+        List<Map<String, Object>> decisions = new ArrayList<>(recentDecisions);
+        statistics.put("recentDecisions", decisions);
+        return statistics;
+    }
+
+    private void decrease(String reason) {
+        if (size <= minSize) {
+            return;
+        }
+
+        int previous = size;
+        size = Math.max(minSize, size / 2);
+        decreases++;
+        remember(DECREASE, previous, reason);
+        logger.info("Insert batch size reduced from {} to {}: {}", previous, size, reason);
+    }
+
+    private void remember(String decision, int previous, String reason) {
+        if (recentDecisions.size() == RECENT_DECISIONS) {
+            recentDecisions.removeLast();
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", LocalDateTime.now());
+        entry.put("decision", decision);
+        entry.put("from", previous);
+        entry.put("to", size);
+        entry.put("reason", reason);
+        recentDecisions.addFirst(entry);
+    }
+}
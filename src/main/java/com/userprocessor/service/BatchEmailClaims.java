@@ -0,0 +1,159 @@
+package com.userprocessor.service;
+
+import com.userprocessor.enums.FileType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+public class BatchEmailClaims {
+
+    private final ConcurrentMap<String, FileClaims> owners = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<DeferredRow> orphans = new ConcurrentLinkedQueue<>();
+
+    public FileClaims newFile(int index) {
+        return new FileClaims(index);
+    }
+
+    public Map<Integer, List<DeferredRow>> takeOrphans() {
+        Map<Integer, List<DeferredRow>> rows = new LinkedHashMap<>();
+        for (DeferredRow row = orphans.poll(); row != null; row = orphans.poll()) {
+            if (row.owner.committed) {
+                rows.computeIfAbsent(row.owner.index, index -> new ArrayList<>()).add(row);
+            }
+        }
+        for (List<DeferredRow> fileRows : rows.values()) {
+            fileRows.sort((a, b) -> Integer.compare(a.lineNumber, b.lineNumber));
+        }
+        return rows;
+    }
+
+    public class FileClaims {
+
+        private final int index;
+        private final Set<String> claimed = new HashSet<>();
+        private final Map<String, List<DeferredRow>> dependents = new HashMap<>();
+        private volatile boolean committed;
+
+        FileClaims(int index) {
+            this.index = index;
+        }
+
+        public BatchEmailClaims getBatch() {
+            return BatchEmailClaims.this;
+        }
+
+        public boolean claim(String email, CharSequence name, FileType fileType, int lineNumber) {
+            while (true) {
+                FileClaims holder;
+                synchronized (this) {
+                    holder = owners.putIfAbsent(email, this);
+                    if (holder == null) {
+                        claimed.add(email);
+                        return true;
+                    }
+                }
+                if (holder == this) {
+                    return true;
+                }
+                if (holder.defer(new DeferredRow(this, name.toString(), email, fileType, lineNumber))) {
+                    return false;
+                }
+            }
+        }
+
+        public synchronized void abandon(String email) {
+            if (claimed.remove(email)) {
+                owners.remove(email, this);
+                List<DeferredRow> rows = dependents.remove(email);
+                if (rows != null) {
+                    orphans.addAll(rows);
+                }
+            }
+        }
+
+        public void completeAfterTransaction(boolean failed) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        complete(status == STATUS_COMMITTED);
+                    }
+                });
+            } else {
+                complete(!failed);
+            }
+        }
+
+        private void complete(boolean commit) {
+            if (commit) {
+                committed = true;
+                synchronized (this) {
+                    dependents.clear();
+                }
+                return;
+            }
+
+            List<String> emails;
+            synchronized (this) {
+                emails = new ArrayList<>(claimed);
+            }
+            for (String email : emails) {
+                abandon(email);
+            }
+        }
+
+        private synchronized boolean defer(DeferredRow row) {
+            if (!claimed.contains(row.email)) {
+                return false;
+            }
+            if (committed) {
+                return true;
+            }
+            dependents.computeIfAbsent(row.email, email -> new ArrayList<>()).add(row);
+            return true;
+        }
+    }
+
+    public static class DeferredRow {
+
+        private final FileClaims owner;
+        private final String name;
+        private final String email;
+        private final FileType fileType;
+        private final int lineNumber;
+
+        DeferredRow(FileClaims owner, String name, String email, FileType fileType, int lineNumber) {
+            this.owner = owner;
+            this.name = name;
+            this.email = email;
+            this.fileType = fileType;
+            this.lineNumber = lineNumber;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public FileType getFileType() {
+            return fileType;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+    }
+}
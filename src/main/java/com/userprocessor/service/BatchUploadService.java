@@ -0,0 +1,142 @@
+package com.userprocessor.service;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.BatchProcessingResult;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.util.FileValidationUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class BatchUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchUploadService.class);
+
+    private final FileProcessingService fileProcessingService;
+    private final UserService userService;
+    private final ProcessingConfig processingConfig;
+    private final ForkJoinPool batchPool;
+
+    @Autowired
+    public BatchUploadService(FileProcessingService fileProcessingService, UserService userService,
+                              ProcessingConfig processingConfig) {
+        this.fileProcessingService = fileProcessingService;
+        this.userService = userService;
+        this.processingConfig = processingConfig;
+        this.batchPool = new ForkJoinPool(Math.max(1, processingConfig.getBatchParallelism()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchPool.shutdownNow();
+    }
+
+    public BatchProcessingResult processBatch(List<MultipartFile> files, String defaultFileType,
+                                              IngestOptions options) throws Exception {
+        if (files == null || files.isEmpty()) {
+            throw new FileProcessingException("At least one file is required");
+        }
+
+        if (files.size() > processingConfig.getMaxBatchFiles()) {
+            throw new FileProcessingException(String.format("Batch contains %d files, maximum allowed is %d",
+                files.size(), processingConfig.getMaxBatchFiles()));
+        }
+
+        long startTime = System.nanoTime();
+        BatchEmailClaims claims = new BatchEmailClaims();
+
+        List<Future<BatchProcessingResult.FileResult>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            IngestOptions fileOptions = options.withBatchClaims(claims.newFile(i));
+            futures.add(batchPool.submit(() -> processBatchFile(file, defaultFileType, fileOptions)));
+        }
+
+        List<BatchProcessingResult.FileResult> fileResults = new ArrayList<>(files.size());
+        for (Future<BatchProcessingResult.FileResult> future : futures) {
+            try {
+                fileResults.add(future.get());
+            } catch (ExecutionException e) {
+                throw new FileProcessingException("Batch processing failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        requeueOrphans(claims, fileResults, options);
+
+        BatchProcessingResult batchResult = new BatchProcessingResult();
+        for (BatchProcessingResult.FileResult fileResult : fileResults) {
+            batchResult.addFileResult(fileResult);
+        }
+
+        batchResult.setProcessingTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        logger.info("Processed batch of {} files: {} succeeded, {} failed, {} records stored",
+            batchResult.getTotalFiles(), batchResult.getSucceededFiles(), batchResult.getFailedFiles(),
+            batchResult.getProcessedRecords());
+
+        return batchResult;
+    }
+
+    private void requeueOrphans(BatchEmailClaims claims, List<BatchProcessingResult.FileResult> fileResults,
+                                IngestOptions options) {
+        for (int round = 0; round < fileResults.size(); round++) {
+            Map<Integer, List<BatchEmailClaims.DeferredRow>> orphans = claims.takeOrphans();
+            if (orphans.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<Integer, List<BatchEmailClaims.DeferredRow>> entry : orphans.entrySet()) {
+                BatchProcessingResult.FileResult fileResult = fileResults.get(entry.getKey());
+                List<BatchEmailClaims.DeferredRow> rows = entry.getValue();
+                List<String> skippedWarnings = new ArrayList<>(rows.size());
+                for (BatchEmailClaims.DeferredRow row : rows) {
+                    skippedWarnings.add("User with email " + row.getEmail() + UserService.BATCH_DUPLICATE_MESSAGE);
+                }
+                try {
+                    ProcessingResult requeued = userService.processDeferredRows(rows,
+                        options.withBatchClaims(claims.newFile(entry.getKey())));
+                    fileResult.getResult().addRequeued(requeued, skippedWarnings);
+                    logger.info("Requeued {} rows of {} after another file of the batch rolled back",
+                        rows.size(), fileResult.getFilename());
+                } catch (Exception e) {
+                    logger.warn("Failed to requeue {} rows of {}: {}", rows.size(), fileResult.getFilename(),
+                        e.getMessage());
+                }
+            }
+        }
+    }
+
+    private BatchProcessingResult.FileResult processBatchFile(MultipartFile file, String defaultFileType,
+                                                              IngestOptions options) {
+        String filename = file.getOriginalFilename();
+        FileType detectedType = FileValidationUtil.detectFileTypeFromName(filename);
+        String fileType = detectedType != null ? detectedType.getValue() : defaultFileType;
+
+        try {
+            ProcessingResult result = fileProcessingService.processFile(file, fileType, options);
+
+            if (result.getTotalRecords() == 0 && result.hasErrors()) {
+                return BatchProcessingResult.FileResult.failure(filename, fileType, String.join("; ", result.getErrors()));
+            }
+            return BatchProcessingResult.FileResult.success(filename, result.getFileType(), result);
+
+        } catch (Exception e) {
+            return BatchProcessingResult.FileResult.failure(filename, fileType, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.userprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.userprocessor.config.UploadConfig;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.UploadSession;
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.exception.UnsupportedFileTypeException;
+import com.userprocessor.exception.UploadOffsetMismatchException;
+import com.userprocessor.util.FileValidationUtil;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_EXTENSION = ".part";
+    private static final String SESSION_EXTENSION = ".session.json";
+    private static final Pattern ID_PATTERN = Pattern.compile("^[0-9a-f-]{36}$");
+
+    private final UploadConfig uploadConfig;
+    private final FileProcessingService fileProcessingService;
+    private final ObjectWriter sessionWriter;
+    private final ObjectReader sessionReader;
+    private final ConcurrentHashMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChunkedUploadService(UploadConfig uploadConfig, FileProcessingService fileProcessingService,
+                                SerializationService serializationService) {
+        this.uploadConfig = uploadConfig;
+        this.fileProcessingService = fileProcessingService;
+        this.sessionWriter = serializationService.writerFor(UploadSession.class);
+        this.sessionReader = serializationService.readerFor(UploadSession.class);
+    }
+
+    @PostConstruct
+    public void restoreSessions() {
+        Path storagePath = uploadConfig.getStoragePath();
+        if (!Files.isDirectory(storagePath)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storagePath, "*" + SESSION_EXTENSION)) {
+            for (Path file : files) {
+                restoreSession(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to restore upload sessions from {}: {}", storagePath, e.getMessage());
+        }
+
+        purgeExpired();
+        if (!sessions.isEmpty()) {
+            logger.info("Restored {} upload sessions from {}", sessions.size(), storagePath);
+        }
+    }
+
+    public UploadSession createSession(String fileType, String filename, long totalSize) throws Exception {
+        if (fileType != null && !FileType.isValid(fileType)) {
+            throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
+        }
+
+        if (totalSize <= 0) {
+            throw new FileProcessingException("Total size must be greater than zero");
+        }
+
+        if (totalSize > uploadConfig.getMaxUploadSize()) {
+            throw new FileProcessingException(String.format("Upload size (%s) exceeds maximum allowed size (%s)",
+                FileValidationUtil.formatFileSize(totalSize),
+                FileValidationUtil.formatFileSize(uploadConfig.getMaxUploadSize())));
+        }
+
+        Path storagePath = uploadConfig.getStoragePath();
+        Files.createDirectories(storagePath);
+        purgeExpired();
+
+        String id = UUID.randomUUID().toString();
+        Path path = Files.createFile(storagePath.resolve(id + PART_EXTENSION));
+
+        String sessionFileType = fileType != null ? FileType.fromString(fileType).getValue() : null;
+        UploadSession session = new UploadSession(id, sessionFileType, filename, totalSize, path);
+        try {
+            persist(session);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        sessions.put(id, session);
+
+        logger.info("Created upload session {} for {} ({} bytes)", id, filename, totalSize);
+        return session;
+    }
+
+    public Optional<UploadSession> getSession(String id) {
+        UploadSession session = sessions.get(id);
+        if (session != null && isExpired(session)) {
+            expire(session);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session);
+    }
+
+    public UploadSession appendChunk(String id, long offset, long length, InputStream body, String expectedChecksum)
+            throws Exception {
+        UploadSession session = requireSession(id);
+
+        synchronized (session) {
+            if (offset != session.getReceivedBytes()) {
+                throw new UploadOffsetMismatchException(
+                    String.format("Chunk offset %d does not match received offset %d", offset, session.getReceivedBytes()),
+                    session.getReceivedBytes());
+            }
+
+            if (length <= 0 || length > uploadConfig.getMaxChunkSize()) {
+                throw new FileProcessingException(String.format("Chunk size must be between 1 byte and %s",
+                    FileValidationUtil.formatFileSize(uploadConfig.getMaxChunkSize())));
+            }
+
+            if (offset + length > session.getTotalSize()) {
+                throw new FileProcessingException("Chunk extends beyond the declared total size of " + session.getTotalSize());
+            }
+
+            try {
+                String checksum = writeChunk(session.getPath(), offset, length, body);
+
+                if (expectedChecksum != null && !expectedChecksum.equalsIgnoreCase(checksum)) {
+                    throw new FileProcessingException(String.format(
+                        "Chunk checksum mismatch at offset %d. Expected: %s, Computed: %s", offset, expectedChecksum, checksum));
+                }
+
+                session.addChunk(new UploadSession.ChunkInfo(offset, length, checksum));
+                persist(session);
+                return session;
+
+            } catch (Exception e) {
+                session.rewindTo(offset);
+                truncate(session.getPath(), offset);
+                throw e;
+            }
+        }
+    }
+
+    public ProcessingResult complete(String id, IngestOptions options) throws Exception {
+        UploadSession session = requireSession(id);
+
+        synchronized (session) {
+            if (!session.isComplete()) {
+                throw new FileProcessingException(String.format("Upload is incomplete: received %d of %d bytes",
+                    session.getReceivedBytes(), session.getTotalSize()));
+            }
+            if (session.isCompleting()) {
+                throw new FileProcessingException("Upload is already being processed: " + id);
+            }
+            session.setCompleting(true);
+        }
+
+        ProcessingResult result;
+        try {
+            result = fileProcessingService.processPath(session.getPath(), session.getFileType(), options);
+        } catch (Exception e) {
+            synchronized (session) {
+                session.setCompleting(false);
+            }
+            logger.warn("Processing upload {} failed, keeping it for a retry: {}", id, e.getMessage());
+            throw e;
+        }
+
+        sessions.remove(id);
+        deleteFiles(session);
+        return result;
+    }
+
+    public boolean abort(String id) throws Exception {
+        UploadSession session = sessions.get(id);
+        if (session == null) {
+            return false;
+        }
+
+        synchronized (session) {
+            if (session.isCompleting()) {
+                throw new FileProcessingException("Upload is being processed and cannot be aborted: " + id);
+            }
+            sessions.remove(id);
+            deleteFiles(session);
+        }
+        return true;
+    }
+
+    private UploadSession requireSession(String id) throws FileProcessingException {
+        return getSession(id)
+            .orElseThrow(() -> new FileProcessingException("Upload session not found: " + id));
+    }
+
+    private void restoreSession(Path file) {
+        try {
+            UploadSession session = sessionReader.readValue(file.toFile());
+            if (session.getId() == null || !ID_PATTERN.matcher(session.getId()).matches()
+                    || !file.getFileName().toString().equals(session.getId() + SESSION_EXTENSION)) {
+                logger.warn("Ignoring invalid upload session file {}", file);
+                return;
+            }
+
+            Path path = uploadConfig.getStoragePath().resolve(session.getId() + PART_EXTENSION);
+            session.setPath(path);
+            if (!Files.exists(path)) {
+                Files.deleteIfExists(file);
+                return;
+            }
+
+            long size = Files.size(path);
+            if (size != session.getReceivedBytes()) {
+                session.rewindTo(size);
+                truncate(path, session.getReceivedBytes());
+                persist(session);
+            }
+            sessions.put(session.getId(), session);
+
+        } catch (IOException e) {
+            logger.warn("Failed to restore upload session {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void persist(UploadSession session) throws IOException {
+        Path file = sessionFile(session.getId());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        sessionWriter.writeValue(temp.toFile(), session);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void purgeExpired() {
+        for (UploadSession session : sessions.values()) {
+            if (isExpired(session)) {
+                expire(session);
+            }
+        }
+
+        Instant cutoff = Instant.now().minus(sessionTtl());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadConfig.getStoragePath(), "*" + PART_EXTENSION)) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().replace(PART_EXTENSION, "");
+                if (!sessions.containsKey(id) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to purge orphaned upload files: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(UploadSession session) {
+        return !session.isCompleting() && session.getUpdatedAt().isBefore(LocalDateTime.now().minus(sessionTtl()));
+    }
+
+    private void expire(UploadSession session) {
+        synchronized (session) {
+            if (!isExpired(session) || !sessions.remove(session.getId(), session)) {
+                return;
+            }
+            try {
+                deleteFiles(session);
+                logger.info("Expired upload session {} after {} hours without activity", session.getId(),
+                    uploadConfig.getSessionTtlHours());
+            } catch (IOException e) {
+                logger.warn("Failed to delete expired upload session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private Duration sessionTtl() {
+        return Duration.ofHours(uploadConfig.getSessionTtlHours());
+    }
+
+    private void deleteFiles(UploadSession session) throws IOException {
+        Files.deleteIfExists(session.getPath());
+        Files.deleteIfExists(sessionFile(session.getId()));
+    }
+
+    private Path sessionFile(String id) {
+        return uploadConfig.getStoragePath().resolve(id + SESSION_EXTENSION);
+    }
+
+    private String writeChunk(Path path, long offset, long length, InputStream body) throws Exception {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.position(offset);
+
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (written + read > length) {
+                    throw new FileProcessingException("Chunk body is longer than the declared range of " + length + " bytes");
+                }
+
+                crc.update(buffer, 0, read);
+                byteBuffer.clear().limit(read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+                written += read;
+            }
+        }
+
+        if (written != length) {
+            throw new FileProcessingException(String.format(
+                "Chunk body length (%d) does not match the declared range (%d)", written, length));
+        }
+
+        return String.format("%08x", crc.getValue());
+    }
+
+    private void truncate(Path path, long size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            logger.warn("Failed to truncate {} to {} bytes: {}", path, size, e.getMessage());
+        }
+    }
+}
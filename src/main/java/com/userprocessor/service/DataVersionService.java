@@ -0,0 +1,46 @@
+package com.userprocessor.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class DataVersionService {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong lastModified = new AtomicLong(epoch / 1000 * 1000);
+
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+        } else {
+            bump();
+        }
+    }
+
+    private void bump() {
+        long nextSecond = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        lastModified.accumulateAndGet(nextSecond, (previous, next) -> Math.max(previous + 1000, next));
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getLastModified() {
+        return lastModified.get();
+    }
+
+    public String getETag() {
+        return "\"" + Long.toString(epoch, 36) + "-" + version.get() + "\"";
+    }
+}
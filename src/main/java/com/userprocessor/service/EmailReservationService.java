@@ -0,0 +1,46 @@
+package com.userprocessor.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class EmailReservationService {
+
+    private final ConcurrentMap<String, Object> reservations = new ConcurrentHashMap<>();
+
+    public Object reserve(Object owner, String email) {
+        return reservations.putIfAbsent(email, owner);
+    }
+
+    public void releaseAfterCompletion(Object owner, List<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(owner, emails);
+                }
+            });
+        } else {
+            release(owner, emails);
+        }
+    }
+
+    int size() {
+        return reservations.size();
+    }
+
+    private void release(Object owner, List<String> emails) {
+        for (String email : emails) {
+            reservations.remove(email, owner);
+        }
+    }
+}
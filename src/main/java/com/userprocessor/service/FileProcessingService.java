@@ -1,7 +1,11 @@
 package com.userprocessor.service;
 
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.IngestOptions;
 import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.CompressionType;
 import com.userprocessor.enums.FileType;
+import com.userprocessor.enums.ResponseMode;
 import com.userprocessor.exception.FileProcessingException;
 import com.userprocessor.exception.UnsupportedFileTypeException;
 import com.userprocessor.factory.FileProcessorFactory;
@@ -9,25 +13,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+
 @Service
 public class FileProcessingService {
 
     private final UserService userService;
     private final FileValidationService fileValidationService;
     private final FileProcessorFactory fileProcessorFactory;
+    private final ProcessingConfig processingConfig;
 
     @Autowired
     public FileProcessingService(
             UserService userService,
             FileValidationService fileValidationService,
-            FileProcessorFactory fileProcessorFactory) {
+            FileProcessorFactory fileProcessorFactory,
+            ProcessingConfig processingConfig) {
         this.userService = userService;
         this.fileValidationService = fileValidationService;
         this.fileProcessorFactory = fileProcessorFactory;
+        this.processingConfig = processingConfig;
     }
 
     public ProcessingResult processFile(MultipartFile file, String fileType) throws Exception {
-        if (!FileType.isValid(fileType)) {
+        return processFile(file, fileType, ResponseMode.FULL);
+    }
+
+    public ProcessingResult processFile(MultipartFile file, String fileType, ResponseMode responseMode) throws Exception {
+        return processFile(file, fileType, IngestOptions.of(responseMode));
+    }
+
+    public ProcessingResult processFile(MultipartFile file, String fileType, IngestOptions options) throws Exception {
+        if (fileType != null && !FileType.isValid(fileType)) {
             throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
         }
 
@@ -53,7 +71,9 @@ public class FileProcessingService {
         }
 
         try {
-            ProcessingResult result = userService.processFileUpload(file, fileType);
+            FileType resolvedType = validationResult.getFileType();
+            ProcessingResult result = userService.processFileUpload(
+                file, resolvedType != null ? resolvedType.getValue() : null, options);
             
             for (String warning : validationResult.getWarnings()) {
                 result.addWarning(warning);
@@ -66,11 +86,77 @@ public class FileProcessingService {
         }
     }
 
+    public ProcessingResult dryRunFile(MultipartFile file, String fileType, IngestOptions options) throws Exception {
+        return processFile(file, fileType, options.asDryRun(0));
+    }
+
+    public ProcessingResult preflightFile(MultipartFile file, String fileType, Integer sampleSize,
+                                          IngestOptions options) throws Exception {
+        int limit = sampleSize != null ? sampleSize : processingConfig.getPreflightSampleSize();
+        limit = Math.min(Math.max(limit, 1), processingConfig.getMaxPreflightSampleSize());
+
+        return processFile(file, fileType, options.asDryRun(limit));
+    }
+
+    public ProcessingResult syncFile(MultipartFile file, String fileType, String source, boolean dryRun)
+            throws Exception {
+        if (fileType != null && !FileType.isValid(fileType)) {
+            throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
+        }
+
+        FileValidationService.ValidationResult validationResult = fileValidationService.validateFile(file, fileType);
+        if (!validationResult.isValid()) {
+            throw new FileProcessingException(String.join("; ", validationResult.getErrors()));
+        }
+
+        try {
+            FileType resolvedType = validationResult.getFileType();
+            return userService.syncSnapshot(file, resolvedType != null ? resolvedType.getValue() : null, source,
+                dryRun);
+        } catch (Exception e) {
+            throw new FileProcessingException("Error syncing snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    public ProcessingResult processStream(InputStream inputStream, String fileType) throws Exception {
+        return processStream(inputStream, fileType, ResponseMode.FULL);
+    }
+
+    public ProcessingResult processStream(InputStream inputStream, String fileType, ResponseMode responseMode)
+            throws Exception {
+        return processStream(inputStream, fileType, CompressionType.NONE, IngestOptions.of(responseMode));
+    }
+
+    public ProcessingResult processStream(InputStream inputStream, String fileType, CompressionType compression,
+                                          IngestOptions options) throws Exception {
+        if (fileType != null && !FileType.isValid(fileType)) {
+            throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
+        }
+
+        try {
+            return userService.processUploadStream(inputStream, fileType, compression, options);
+        } catch (Exception e) {
+            throw new FileProcessingException("Error processing file: " + e.getMessage(), e);
+        }
+    }
+
+    public ProcessingResult processPath(Path path, String fileType, IngestOptions options) throws Exception {
+        if (fileType != null && !FileType.isValid(fileType)) {
+            throw new UnsupportedFileTypeException("Unsupported file type: " + fileType);
+        }
+
+        try {
+            return userService.processStagedFile(path, fileType, options);
+        } catch (Exception e) {
+            throw new FileProcessingException("Error processing file: " + e.getMessage(), e);
+        }
+    }
+
     public boolean isFileTypeSupported(String fileType) {
         return fileProcessorFactory.isSupported(fileType);
     }
 
     public String[] getSupportedFileTypes() {
-        return new String[]{"csv", "json", "xml"};
+        return new String[]{"csv", "json", "ndjson", "xml", "parquet"};
     }
 }
@@ -1,15 +1,21 @@
 package com.userprocessor.service;
 
 import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.enums.CompressionType;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.util.ContentSniffer;
 import com.userprocessor.util.FileValidationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @Service
 public class FileValidationService {
@@ -32,7 +38,7 @@ public class FileValidationService {
         validateFileSize(file, result);
         validateFileName(file, result);
         validateFileType(file, expectedFileType, result);
-        validateMimeType(file, expectedFileType, result);
+        validateMimeType(file, result);
 
         result.setValid(result.getErrors().isEmpty());
         return result;
@@ -56,45 +62,64 @@ public class FileValidationService {
         if (filename.length() > 255) {
             result.addError("File name is too long (maximum 255 characters)");
         }
-
-        String extension = FileValidationUtil.getFileExtension(filename);
-        if (extension.isEmpty()) {
-            result.addError("File must have an extension");
-        }
     }
 
     private void validateFileType(MultipartFile file, String expectedFileType, ValidationResult result) {
+        FileType expectedType;
         try {
-            FileType expectedType = FileType.fromString(expectedFileType);
-            FileType detectedType = FileValidationUtil.detectFileTypeFromName(file.getOriginalFilename());
-            
-            if (detectedType == null) {
-                result.addError("Could not detect file type from filename");
-                return;
-            }
-
-            if (!expectedType.equals(detectedType)) {
-                result.addError(String.format("File type mismatch. Expected: %s, Detected: %s",
-                    expectedType.getValue(), detectedType.getValue()));
-            }
+            expectedType = expectedFileType != null ? FileType.fromString(expectedFileType) : null;
         } catch (IllegalArgumentException e) {
             result.addError("Invalid file type: " + expectedFileType);
+            return;
         }
-    }
 
-    private void validateMimeType(MultipartFile file, String expectedFileType, ValidationResult result) {
-        try {
-            FileType fileType = FileType.fromString(expectedFileType);
-            if (!FileValidationUtil.isValidMimeType(file, fileType)) {
-                result.addWarning(String.format("MIME type '%s' may not be appropriate for %s files",
-                    file.getContentType(), fileType.getValue().toUpperCase()));
+        if (CompressionType.fromFileName(file.getOriginalFilename()) == CompressionType.ZIP) {
+            result.setFileType(expectedType);
+            return;
+        }
+
+        FileType nameType = FileValidationUtil.detectFileTypeFromName(file.getOriginalFilename());
+
+        if (expectedType != null && nameType != null && !expectedType.equals(nameType)) {
+            result.addError(String.format("File type mismatch. Expected: %s, Detected: %s",
+                expectedType.getValue(), nameType.getValue()));
+            return;
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream(), ContentSniffer.SNIFF_LENGTH)) {
+            byte[] head = ContentSniffer.peek(inputStream);
+
+            switch (ContentSniffer.detectCompression(head)) {
+                case ZIP:
+                    result.setFileType(expectedType);
+                    return;
+                case GZIP:
+                    head = ContentSniffer.head(new GZIPInputStream(inputStream));
+                    break;
+                default:
+                    break;
             }
-        } catch (IllegalArgumentException e) {
+
+            result.setFileType(ContentSniffer.resolveFileType(expectedType != null ? expectedType : nameType, head));
+
+        } catch (FileProcessingException e) {
+            result.addError(e.getMessage());
+        } catch (IOException e) {
+            result.addError("Could not read file content: " + e.getMessage());
+        }
+    }
+
+    private void validateMimeType(MultipartFile file, ValidationResult result) {
+        FileType fileType = result.getFileType();
+        if (fileType != null && !FileValidationUtil.isValidMimeType(file, fileType)) {
+            result.addWarning(String.format("MIME type '%s' may not be appropriate for %s files",
+                file.getContentType(), fileType.getValue().toUpperCase()));
         }
     }
 
     public static class ValidationResult {
         private boolean valid = true;
+        private FileType fileType;
         private List<String> errors = new ArrayList<>();
         private List<String> warnings = new ArrayList<>();
 
@@ -106,6 +131,14 @@ public class FileValidationService {
             this.valid = valid;
         }
 
+        public FileType getFileType() {
+            return fileType;
+        }
+
+        public void setFileType(FileType fileType) {
+            this.fileType = fileType;
+        }
+
         public List<String> getErrors() {
             return errors;
         }
@@ -1,24 +1,151 @@
 package com.userprocessor.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.opencsv.CSVWriter;
+import com.userprocessor.config.ExportConfig;
 import com.userprocessor.dto.UserResponseDto;
 import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.util.ParquetUtil;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class OutputFormatterService {
 
-    private final ObjectMapper objectMapper;
-    private final XmlMapper xmlMapper;
+    private static final String[] CSV_HEADERS = {"id", "name", "email", "source", "createdAt", "updatedAt"};
 
-    public OutputFormatterService() {
-        this.objectMapper = new ObjectMapper();
-        this.xmlMapper = new XmlMapper();
+    private final SerializationService serializationService;
+    private final ExportConfig exportConfig;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter xmlWriter;
+
+    @Autowired
+    public OutputFormatterService(SerializationService serializationService, ExportConfig exportConfig) {
+        this.serializationService = serializationService;
+        this.exportConfig = exportConfig;
+        this.jsonWriter = serializationService.writerForListOf(UserResponseDto.class);
+        this.xmlWriter = serializationService.xmlWriterFor(UserListWrapper.class);
+    }
+
+    public OutputFormat resolveFormat(String format, String acceptHeader) {
+        if (format != null && !format.isBlank()) {
+            return OutputFormat.fromString(format);
+        }
+
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return OutputFormat.JSON;
+        }
+
+        List<MediaType> mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : mediaTypes) {
+            OutputFormat negotiated = OutputFormat.fromContentType(mediaType.getType() + "/" + mediaType.getSubtype());
+            if (negotiated != null) {
+                return negotiated;
+            }
+        }
+        return OutputFormat.JSON;
+    }
+
+    public boolean isStreamable(OutputFormat format) {
+        return format != OutputFormat.JSON && format != OutputFormat.XML;
+    }
+
+    public UserStreamWriter openStream(OutputStream outputStream, OutputFormat format) throws IOException {
+        if (format == OutputFormat.CSV) {
+            CSVWriter csvWriter = new CSVWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+            csvWriter.writeNext(CSV_HEADERS);
+
+            return new UserStreamWriter() {
+                @Override
+                public void write(UserResponseDto user) {
+                    csvWriter.writeNext(toCsvRow(user));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    csvWriter.close();
+                }
+            };
+        }
+
+        if (format == OutputFormat.PARQUET) {
+            return openParquetStream(outputStream);
+        }
+
+        SequenceWriter sequenceWriter = serializationService.writerFor(format, UserResponseDto.class)
+                .writeValues(outputStream)
+                .init(true);
+
+        return new UserStreamWriter() {
+            @Override
+            public void write(UserResponseDto user) throws IOException {
+                sequenceWriter.write(user);
+            }
+
+            @Override
+            public void close() throws IOException {
+                sequenceWriter.close();
+            }
+        };
+    }
+
+    private UserStreamWriter openParquetStream(OutputStream outputStream) throws IOException {
+        ParquetWriter<Group> parquetWriter = ExampleParquetWriter.builder(ParquetUtil.streamOutputFile(outputStream))
+            .withType(ParquetUtil.USER_SCHEMA)
+            .withCompressionCodec(CompressionCodecName.SNAPPY)
+            .withRowGroupSize(exportConfig.getParquetMemoryBudget())
+            .withPageSize(exportConfig.getParquetPageSize())
+            .build();
+        SimpleGroupFactory groupFactory = new SimpleGroupFactory(ParquetUtil.USER_SCHEMA);
+
+        return new UserStreamWriter() {
+            @Override
+            public void write(UserResponseDto user) throws IOException {
+                Group group = groupFactory.newGroup()
+                    .append("name", user.getName() != null ? user.getName() : "")
+                    .append("email", user.getEmail() != null ? user.getEmail() : "");
+
+                if (user.getId() != null) {
+                    group.append("id", user.getId());
+                }
+                if (user.getSource() != null) {
+                    group.append("source", user.getSource());
+                }
+                if (user.getCreatedAt() != null) {
+                    group.append("createdAt", ParquetUtil.toEpochMicros(user.getCreatedAt()));
+                }
+                if (user.getUpdatedAt() != null) {
+                    group.append("updatedAt", ParquetUtil.toEpochMicros(user.getUpdatedAt()));
+                }
+                parquetWriter.write(group);
+            }
+
+            @Override
+            public void close() throws IOException {
+                parquetWriter.close();
+            }
+        };
     }
 
     public String formatUsers(List<UserResponseDto> users, OutputFormat format) throws Exception {
@@ -35,35 +162,37 @@ public class OutputFormatterService {
     }
 
     private String formatAsJson(List<UserResponseDto> users) throws Exception {
-        return objectMapper.writeValueAsString(users);
+        return jsonWriter.writeValueAsString(users);
     }
 
     private String formatAsCsv(List<UserResponseDto> users) throws Exception {
         StringWriter stringWriter = new StringWriter();
         CSVWriter csvWriter = new CSVWriter(stringWriter);
 
-        String[] headers = {"id", "name", "email", "source", "createdAt", "updatedAt"};
-        csvWriter.writeNext(headers);
+        csvWriter.writeNext(CSV_HEADERS);
 
         for (UserResponseDto user : users) {
-            String[] row = {
-                user.getId() != null ? user.getId().toString() : "",
-                user.getName() != null ? user.getName() : "",
-                user.getEmail() != null ? user.getEmail() : "",
-                user.getSource() != null ? user.getSource() : "",
-                user.getCreatedAt() != null ? user.getCreatedAt().toString() : "",
-                user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : ""
-            };
-            csvWriter.writeNext(row);
+            csvWriter.writeNext(toCsvRow(user));
         }
 
         csvWriter.close();
         return stringWriter.toString();
     }
 
+    private String[] toCsvRow(UserResponseDto user) {
+        return new String[]{
+            user.getId() != null ? user.getId().toString() : "",
+            user.getName() != null ? user.getName() : "",
+            user.getEmail() != null ? user.getEmail() : "",
+            user.getSource() != null ? user.getSource() : "",
+            user.getCreatedAt() != null ? user.getCreatedAt().toString() : "",
+            user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : ""
+        };
+    }
+
     private String formatAsXml(List<UserResponseDto> users) throws Exception {
         UserListWrapper wrapper = new UserListWrapper(users);
-        return xmlMapper.writeValueAsString(wrapper);
+        return xmlWriter.writeValueAsString(wrapper);
     }
 
     public String getContentType(OutputFormat format) {
@@ -78,11 +207,24 @@ public class OutputFormatterService {
                 return ".csv";
             case XML:
                 return ".xml";
+            case SMILE:
+                return ".smile";
+            case CBOR:
+                return ".cbor";
+            case MSGPACK:
+                return ".msgpack";
+            case PARQUET:
+                return ".parquet";
             default:
                 return ".txt";
         }
     }
 
+    public interface UserStreamWriter extends Closeable {
+
+        void write(UserResponseDto user) throws IOException;
+    }
+
     public static class UserListWrapper {
         private List<UserResponseDto> users;
 
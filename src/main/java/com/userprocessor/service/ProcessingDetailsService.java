@@ -0,0 +1,133 @@
+package com.userprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.userprocessor.config.UploadConfig;
+import com.userprocessor.dto.RecordDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Service
+public class ProcessingDetailsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingDetailsService.class);
+
+    private static final String DETAILS_DIR = "details";
+    private static final String DETAILS_EXTENSION = ".ndjson";
+    private static final Pattern ID_PATTERN = Pattern.compile("^[0-9a-f-]{36}$");
+
+    private final UploadConfig uploadConfig;
+    private final ObjectWriter detailWriter;
+    private final ObjectReader detailReader;
+
+    @Autowired
+    public ProcessingDetailsService(UploadConfig uploadConfig, SerializationService serializationService) {
+        this.uploadConfig = uploadConfig;
+        this.detailWriter = serializationService.writerFor(RecordDetail.class);
+        this.detailReader = serializationService.readerFor(RecordDetail.class);
+    }
+
+    public DetailsWriter open() throws IOException {
+        Path directory = getDetailsDirectory();
+        Files.createDirectories(directory);
+        purgeExpired(directory);
+
+        String id = UUID.randomUUID().toString();
+        Path path = directory.resolve(id + DETAILS_EXTENSION);
+        return new DetailsWriter(id, path, Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    public Optional<List<RecordDetail>> readPage(String id, int page, int size) throws IOException {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Optional.empty();
+        }
+
+        Path path = getDetailsDirectory().resolve(id + DETAILS_EXTENSION);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        long skip = (long) page * size;
+        List<RecordDetail> details = new ArrayList<>(size);
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            long index = 0;
+            while ((line = reader.readLine()) != null && details.size() < size) {
+                if (index++ >= skip) {
+                    details.add(detailReader.readValue(line));
+                }
+            }
+        }
+
+        return Optional.of(details);
+    }
+
+    private Path getDetailsDirectory() {
+        return uploadConfig.getStoragePath().resolve(DETAILS_DIR);
+    }
+
+    private void purgeExpired(Path directory) {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(uploadConfig.getDetailsRetentionHours()));
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + DETAILS_EXTENSION)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to purge expired processing details: {}", e.getMessage());
+        }
+    }
+
+    public class DetailsWriter implements Closeable {
+
+        private final String id;
+        private final Path path;
+        private final BufferedWriter writer;
+
+        private DetailsWriter(String id, Path path, BufferedWriter writer) {
+            this.id = id;
+            this.path = path;
+            this.writer = writer;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void write(RecordDetail detail) throws IOException {
+            writer.write(detailWriter.writeValueAsString(detail));
+            writer.newLine();
+        }
+
+        public void discard() throws IOException {
+            writer.close();
+            Files.deleteIfExists(path);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
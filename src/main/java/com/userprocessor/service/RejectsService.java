@@ -0,0 +1,119 @@
+package com.userprocessor.service;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.userprocessor.config.UploadConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Service
+public class RejectsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RejectsService.class);
+
+    private static final String REJECTS_DIR = "rejects";
+    private static final String REJECTS_EXTENSION = ".csv";
+    private static final Pattern ID_PATTERN = Pattern.compile("^[0-9a-f-]{36}$");
+    private static final String[] HEADER = {"line", "code", "reason", "original"};
+
+    private final UploadConfig uploadConfig;
+
+    @Autowired
+    public RejectsService(UploadConfig uploadConfig) {
+        this.uploadConfig = uploadConfig;
+    }
+
+    public RejectsWriter open() {
+        return new RejectsWriter(UUID.randomUUID().toString());
+    }
+
+    public Optional<Path> find(String id) {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Optional.empty();
+        }
+
+        Path path = getRejectsDirectory().resolve(id + REJECTS_EXTENSION);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path getRejectsDirectory() {
+        return uploadConfig.getStoragePath().resolve(REJECTS_DIR);
+    }
+
+    private void purgeExpired(Path directory) {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(uploadConfig.getDetailsRetentionHours()));
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + REJECTS_EXTENSION)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to purge expired rejects files: {}", e.getMessage());
+        }
+    }
+
+    public class RejectsWriter implements Closeable {
+
+        private final String id;
+        private Path path;
+        private ICSVWriter writer;
+        private int count;
+
+        private RejectsWriter(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void write(int lineNumber, String code, String reason, String originalLine) throws IOException {
+            if (writer == null) {
+                Path directory = getRejectsDirectory();
+                Files.createDirectories(directory);
+                purgeExpired(directory);
+
+                path = directory.resolve(id + REJECTS_EXTENSION);
+                writer = new CSVWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+                writer.writeNext(HEADER);
+            }
+
+            writer.writeNext(new String[]{String.valueOf(lineNumber), code, reason, originalLine});
+            count++;
+        }
+
+        public void discard() throws IOException {
+            if (writer != null) {
+                writer.close();
+                Files.deleteIfExists(path);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.userprocessor.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.userprocessor.enums.OutputFormat;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class SerializationService {
+
+    private final ObjectMapper objectMapper;
+    private final Map<OutputFormat, ObjectMapper> formatMappers = new EnumMap<>(OutputFormat.class);
+
+    private final ConcurrentHashMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<OutputFormat, ConcurrentHashMap<JavaType, ObjectWriter>> writers = new EnumMap<>(OutputFormat.class);
+
+    @Autowired
+    public SerializationService(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.objectMapper = objectMapper;
+
+        formatMappers.put(OutputFormat.JSON, objectMapper);
+        formatMappers.put(OutputFormat.XML, builders.getObject().createXmlMapper(true).build());
+        formatMappers.put(OutputFormat.SMILE, builders.getObject().factory(new SmileFactory()).build());
+        formatMappers.put(OutputFormat.CBOR, builders.getObject().factory(new CBORFactory()).build());
+        formatMappers.put(OutputFormat.MSGPACK, builders.getObject().factory(new MessagePackFactory()).build());
+
+        for (OutputFormat format : formatMappers.keySet()) {
+            writers.put(format, new ConcurrentHashMap<>());
+        }
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public JsonFactory getJsonFactory() {
+        return objectMapper.getFactory();
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(objectMapper.constructType(type), objectMapper::readerFor);
+    }
+
+    public ObjectWriter writerFor(Class<?> type) {
+        return writerFor(OutputFormat.JSON, type);
+    }
+
+    public ObjectWriter writerForListOf(Class<?> elementType) {
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        return writers.get(OutputFormat.JSON).computeIfAbsent(listType, objectMapper::writerFor);
+    }
+
+    public ObjectWriter xmlWriterFor(Class<?> type) {
+        return writerFor(OutputFormat.XML, type);
+    }
+
+    public ObjectWriter writerFor(OutputFormat format, Class<?> type) {
+        ObjectMapper mapper = formatMappers.get(format);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No Jackson mapper for output format: " + format);
+        }
+        return writers.get(format).computeIfAbsent(mapper.constructType(type), mapper::writerFor);
+    }
+}
@@ -63,7 +63,9 @@ public class StatisticsService {
         
         stats.put("csvUsers", getUserCountBySource("csv"));
         stats.put("jsonUsers", getUserCountBySource("json"));
+        stats.put("ndjsonUsers", getUserCountBySource("ndjson"));
         stats.put("xmlUsers", getUserCountBySource("xml"));
+        stats.put("parquetUsers", getUserCountBySource("parquet"));
         
         return stats;
     }
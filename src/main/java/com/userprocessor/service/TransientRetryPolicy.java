@@ -0,0 +1,136 @@
+package com.userprocessor.service;
+
+import com.userprocessor.config.ProcessingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TransientRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransientRetryPolicy.class);
+
+    private static final List<String> TRANSIENT_SQL_STATES = List.of("08", "40", "53", "55P03", "57P", "HYT");
+    private static final List<String> SAVEPOINT_RECOVERABLE_SQL_STATES = List.of("40P01", "55P03");
+
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final long deadlineNanos;
+
+    @Autowired
+    public TransientRetryPolicy(ProcessingConfig processingConfig) {
+        this.maxAttempts = Math.max(0, processingConfig.getTransientRetryAttempts());
+        this.backoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, processingConfig.getTransientRetryBackoffMs()));
+        this.maxBackoffNanos = Math.max(backoffNanos,
+            TimeUnit.MILLISECONDS.toNanos(processingConfig.getTransientRetryMaxBackoffMs()));
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(processingConfig.getTransientRetryDeadlineMs());
+    }
+
+    public Budget newBudget() {
+        return new Budget();
+    }
+
+    public boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                for (SQLException next = (SQLException) cause; next != null; next = next.getNextException()) {
+                    if (isTransientState(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isRecoverableInTransaction(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException next = (SQLException) cause; next != null; next = next.getNextException()) {
+                    if (SAVEPOINT_RECOVERABLE_SQL_STATES.contains(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isTransientState(String sqlState) {
+        if (sqlState == null) {
+            return false;
+        }
+        for (String prefix : TRANSIENT_SQL_STATES) {
+            if (sqlState.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public class Budget {
+
+        private final AtomicLong firstFailure = new AtomicLong();
+        private final AtomicInteger retries = new AtomicInteger();
+
+        public boolean retry(String task, int attempt, Exception failure) {
+            return retry(task, attempt, failure, isTransient(failure));
+        }
+
+        public boolean retryInTransaction(String task, int attempt, Exception failure) {
+            return retry(task, attempt, failure, isRecoverableInTransaction(failure));
+        }
+
+        private boolean retry(String task, int attempt, Exception failure, boolean retryable) {
+            if (attempt > maxAttempts || !retryable) {
+                return false;
+            }
+
+            long now = System.nanoTime();
+            firstFailure.compareAndSet(0, now);
+            long remaining = firstFailure.get() + deadlineNanos - now;
+            if (remaining <= 0) {
+                logger.warn("Not retrying {}: transient retry deadline exceeded", task);
+                return false;
+            }
+
+            long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 20));
+            long delay = Math.min(remaining, ThreadLocalRandom.current().nextLong(ceiling + 1));
+            logger.warn("Retrying {} in {}ms after transient failure (attempt {}/{}): {}", task,
+                TimeUnit.NANOSECONDS.toMillis(delay), attempt, maxAttempts,
+                NestedExceptionUtils.getMostSpecificCause(failure).getMessage());
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            retries.incrementAndGet();
+            return true;
+        }
+
+        public int getRetries() {
+            return retries.get();
+        }
+    }
+}
@@ -1,81 +1,390 @@
 package com.userprocessor.service;
 
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.config.UploadConfig;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.PipelineStatistics;
 import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.RecordDetail;
+import com.userprocessor.dto.SortStatistics;
 import com.userprocessor.dto.UserDto;
 import com.userprocessor.dto.UserResponseDto;
 import com.userprocessor.entity.User;
+import com.userprocessor.enums.CompressionType;
 import com.userprocessor.enums.FileType;
 import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.enums.WriteMode;
 import com.userprocessor.exception.FileProcessingException;
 import com.userprocessor.factory.FileProcessorFactory;
+import com.userprocessor.pipeline.StageHandler;
+import com.userprocessor.pipeline.StagedPipeline;
 import com.userprocessor.processor.FileProcessor;
+import com.userprocessor.processor.TextBuffer;
+import com.userprocessor.processor.UserRecord;
+import com.userprocessor.processor.UserRecordHandler;
+import com.userprocessor.repository.UserBatchRepository;
 import com.userprocessor.repository.UserRepository;
+import com.userprocessor.sort.CodePointComparator;
+import com.userprocessor.sort.ExternalSorter;
+import com.userprocessor.sort.RecordCodec;
+import com.userprocessor.sort.UserResponseCodec;
+import com.userprocessor.sort.UserSortOrder;
+import com.userprocessor.util.ContentSniffer;
+import com.userprocessor.util.DecompressionUtil;
+import com.userprocessor.util.FileValidationUtil;
+import com.userprocessor.validation.UserRecordValidator;
+import com.userprocessor.validation.ValidationCode;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.function.ThrowingConsumer;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    private static final int STAGED_BUFFER_SIZE = 64 * 1024;
+    private static final String REJECTS_URL_PREFIX = "/api/users/upload/rejects/";
+    private static final String MALFORMED_CODE = "malformed";
+    private static final int MAX_SOURCE_LENGTH = 255;
+    static final String BATCH_DUPLICATE_MESSAGE = " appears earlier in this batch - skipped";
+
     private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
     private final FileProcessorFactory fileProcessorFactory;
+    private final DataVersionService dataVersionService;
+    private final ProcessingDetailsService processingDetailsService;
+    private final RejectsService rejectsService;
+    private final ProcessingConfig processingConfig;
+    private final UploadConfig uploadConfig;
+    private final UserRecordValidator recordValidator;
+    private final AdaptiveBatchSizer batchSizer;
+    private final EmailReservationService emailReservationService;
+    private final TransientRetryPolicy transientRetryPolicy;
+    private final ExecutorService pipelineExecutor =
+        Executors.newCachedThreadPool(new CustomizableThreadFactory("ingest-pipeline-"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public UserService(UserRepository userRepository, FileProcessorFactory fileProcessorFactory) {
+    public UserService(
+            UserRepository userRepository,
+            UserBatchRepository userBatchRepository,
+            FileProcessorFactory fileProcessorFactory,
+            DataVersionService dataVersionService,
+            ProcessingDetailsService processingDetailsService,
+            RejectsService rejectsService,
+            ProcessingConfig processingConfig,
+            UploadConfig uploadConfig,
+            UserRecordValidator recordValidator,
+            AdaptiveBatchSizer batchSizer,
+            EmailReservationService emailReservationService,
+            TransientRetryPolicy transientRetryPolicy) {
         this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
         this.fileProcessorFactory = fileProcessorFactory;
+        this.dataVersionService = dataVersionService;
+        this.processingDetailsService = processingDetailsService;
+        this.rejectsService = rejectsService;
+        this.processingConfig = processingConfig;
+        this.uploadConfig = uploadConfig;
+        this.recordValidator = recordValidator;
+        this.batchSizer = batchSizer;
+        this.emailReservationService = emailReservationService;
+        this.transientRetryPolicy = transientRetryPolicy;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        pipelineExecutor.shutdownNow();
+    }
+
+    @Transactional(rollbackFor = Exception.class)
     public ProcessingResult processFileUpload(MultipartFile file, String fileTypeString) throws Exception {
-        FileType fileType = FileType.fromString(fileTypeString);
-        FileProcessor processor = fileProcessorFactory.getProcessor(fileType);
+        return processFileUpload(file, fileTypeString, ResponseMode.FULL);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processFileUpload(MultipartFile file, String fileTypeString, ResponseMode responseMode)
+            throws Exception {
+        return processFileUpload(file, fileTypeString, IngestOptions.of(responseMode));
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processFileUpload(MultipartFile file, String fileTypeString, IngestOptions options)
+            throws Exception {
+        FileType fileType = parseFileType(fileTypeString);
+
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream(), STAGED_BUFFER_SIZE)) {
+            CompressionType compression = ContentSniffer.detectCompression(ContentSniffer.peek(inputStream));
+
+            if (fileType != null && compression != CompressionType.ZIP) {
+                fileProcessorFactory.getProcessor(fileType).validateFileFormat(file);
+            }
+
+            return ingest(options, records(inputStream, fileType, compression));
+        }
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processUploadStream(InputStream inputStream, String fileTypeString, ResponseMode responseMode)
+            throws Exception {
+        return processUploadStream(inputStream, fileTypeString, CompressionType.NONE, IngestOptions.of(responseMode));
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processUploadStream(InputStream inputStream, String fileTypeString,
+                                                CompressionType compression, IngestOptions options)
+            throws Exception {
+        FileType fileType = parseFileType(fileTypeString);
+        InputStream buffered = new BufferedInputStream(inputStream, STAGED_BUFFER_SIZE);
+
+        if (compression == null) {
+            compression = ContentSniffer.detectCompression(ContentSniffer.peek(buffered));
+        }
+
+        return ingest(options, records(buffered, fileType, compression));
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processStagedFile(Path path, String fileTypeString, IngestOptions options)
+            throws Exception {
+        byte[] head;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            head = ContentSniffer.head(inputStream);
+        }
+
+        CompressionType compression = ContentSniffer.detectCompression(head);
+
+        if (compression == CompressionType.NONE) {
+            FileType fileType = ContentSniffer.resolveFileType(parseFileType(fileTypeString), head);
+            FileProcessor processor = fileProcessorFactory.getProcessor(fileType);
+            return ingest(options, handlers -> processor.processPath(path, handlers.apply(fileType)));
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path), STAGED_BUFFER_SIZE)) {
+            return ingest(options, records(inputStream, parseFileType(fileTypeString), compression));
+        }
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult processDeferredRows(List<BatchEmailClaims.DeferredRow> rows, IngestOptions options)
+            throws Exception {
+        return ingest(options, handlers -> {
+            UserRecord record = new UserRecord();
+            for (BatchEmailClaims.DeferredRow row : rows) {
+                String line = row.getName() + "," + row.getEmail();
+                record.set(row.getName(), row.getEmail());
+                handlers.apply(row.getFileType()).onRecord(record, row.getLineNumber(), () -> line);
+            }
+        });
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessingResult syncSnapshot(MultipartFile file, String fileTypeString, String source, boolean dryRun)
+            throws Exception {
+        if (source == null || source.isBlank()) {
+            throw new FileProcessingException("A source is required to sync a snapshot");
+        }
+        if (source.length() > MAX_SOURCE_LENGTH) {
+            throw new FileProcessingException("Source must not exceed " + MAX_SOURCE_LENGTH + " characters");
+        }
+
+        FileType fileType = parseFileType(fileTypeString);
+
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream(), STAGED_BUFFER_SIZE)) {
+            CompressionType compression = ContentSniffer.detectCompression(ContentSniffer.peek(inputStream));
+
+            if (fileType != null && compression != CompressionType.ZIP) {
+                fileProcessorFactory.getProcessor(fileType).validateFileFormat(file);
+            }
+
+            SnapshotSync sync = new SnapshotSync(source.trim(), dryRun);
+            ProcessingResult result = sync.run(records(inputStream, fileType, compression));
+
+            if (dryRun) {
+                result.setDryRun(true);
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            } else if (result.getProcessedRecords() > 0 || result.getDeletedRecords() > 0) {
+                dataVersionService.markChanged();
+            }
 
-        List<UserDto> userDtos = processor.processFile(file);
-        
+            return result;
+        }
+    }
+
+    private FileType parseFileType(String fileTypeString) {
+        return fileTypeString != null ? FileType.fromString(fileTypeString) : null;
+    }
+
+    private RecordSource records(InputStream inputStream, FileType fileType, CompressionType compression) {
+        switch (compression) {
+            case GZIP:
+                return handlers -> processContent(DecompressionUtil.gunzip(inputStream,
+                    uploadConfig.getMaxDecompressedSize(), uploadConfig.getMaxCompressionRatio()), fileType, handlers);
+            case ZIP:
+                return handlers -> DecompressionUtil.forEachZipEntry(inputStream,
+                    uploadConfig.getMaxDecompressedSize(), uploadConfig.getMaxCompressionRatio(),
+                    (name, entry) -> ingestArchiveEntry(name, entry, fileType, handlers));
+            default:
+                return handlers -> processContent(inputStream, fileType, handlers);
+        }
+    }
+
+    private void processContent(InputStream inputStream, FileType declaredType,
+                                Function<FileType, UserRecordHandler> handlers) throws Exception {
+        InputStream content = inputStream.markSupported()
+            ? inputStream
+            : new BufferedInputStream(inputStream, STAGED_BUFFER_SIZE);
+
+        FileType fileType = ContentSniffer.resolveFileType(declaredType, ContentSniffer.peek(content));
+        fileProcessorFactory.getProcessor(fileType).processStream(content, handlers.apply(fileType));
+    }
+
+    private void ingestArchiveEntry(String name, InputStream entry, FileType defaultFileType,
+                                    Function<FileType, UserRecordHandler> handlers) throws Exception {
+        FileType detectedType = FileValidationUtil.detectFileTypeFromName(name);
+        FileType entryType = detectedType != null ? detectedType : defaultFileType;
+
+        InputStream entryStream = new BufferedInputStream(entry, STAGED_BUFFER_SIZE);
+        if (ContentSniffer.detectCompression(ContentSniffer.peek(entryStream)) == CompressionType.GZIP) {
+            entryStream = DecompressionUtil.gunzip(entryStream, uploadConfig.getMaxDecompressedSize(),
+                uploadConfig.getMaxCompressionRatio());
+        }
+
+        try {
+            processContent(entryStream, entryType, handlers);
+        } catch (FileProcessingException e) {
+            throw new FileProcessingException("Archive entry '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    private ProcessingResult ingest(IngestOptions options, RecordSource source) throws Exception {
         ProcessingResult result = new ProcessingResult();
-        result.setTotalRecords(userDtos.size());
+        ProcessingDetailsService.DetailsWriter details = null;
+        RejectsService.RejectsWriter rejects = null;
 
-        int processedCount = 0;
-        int skippedCount = 0;
-        int errorCount = 0;
+        if (options.getResponseMode() == ResponseMode.SUMMARY) {
+            result.enableSummaryMode(processingConfig.getSummarySampleSize());
+            details = processingDetailsService.open();
+            result.setDetailsId(details.getId());
+        }
 
-        for (UserDto userDto : userDtos) {
-            try {
-                if (userRepository.existsByEmail(userDto.getEmail())) {
-                    result.addWarning("User with email " + userDto.getEmail() + " already exists - skipped");
-                    skippedCount++;
-                    continue;
-                }
+        if (options.getValidationMode() == ValidationMode.PARTIAL) {
+            rejects = rejectsService.open();
+        }
 
-                User user = new User(userDto.getName(), userDto.getEmail(), fileType.getValue());
-                User savedUser = userRepository.save(user);
-                result.addProcessedUser(new UserResponseDto(savedUser));
-                processedCount++;
+        if (options.getWriteMode() == WriteMode.UPSERT) {
+            result.enableUpsertCounts();
+        }
+
+        Ingestion ingestion = new Ingestion(result, details, rejects, options);
+        boolean failed = true;
 
-            } catch (Exception e) {
-                result.addError("Error processing user " + userDto.getEmail() + ": " + e.getMessage());
-                errorCount++;
+        try {
+            ingestion.run(source);
+            failed = false;
+        } catch (Exception e) {
+            if (details != null) {
+                details.discard();
+            }
+            if (rejects != null) {
+                rejects.discard();
             }
+            throw e;
+        } finally {
+            emailReservationService.releaseAfterCompletion(ingestion.reservationOwner, ingestion.reservedEmails);
+            if (ingestion.batchClaims != null && !ingestion.dryRun) {
+                ingestion.batchClaims.completeAfterTransaction(failed);
+            }
+        }
+
+        if (details != null) {
+            details.close();
         }
 
-        result.setProcessedRecords(processedCount);
-        result.setSkippedRecords(skippedCount);
-        result.setErrorRecords(errorCount);
+        if (rejects != null) {
+            rejects.close();
+            if (rejects.getCount() > 0) {
+                result.setRejectsId(rejects.getId());
+                result.setRejectsUrl(REJECTS_URL_PREFIX + rejects.getId());
+            }
+        }
+
+        result.setProcessingTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ingestion.startTime));
+
+        if (options.isDryRun()) {
+            result.setDryRun(true);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        } else if (result.getProcessedRecords() > 0) {
+            dataVersionService.markChanged();
+        }
 
         return result;
     }
 
+    public User createUser(UserDto userDto) {
+        ValidationCode code = recordValidator.validate(userDto);
+        if (!code.isValid()) {
+            throw new IllegalArgumentException(code.getMessage());
+        }
+
+        long id = userBatchRepository.insertAll(Collections.singletonList(userDto.getName()),
+            List.of(userDto.getEmail()), List.of("manual"), LocalDateTime.now())[0];
+        if (id == 0) {
+            throw new IllegalArgumentException("User with email already exists: " + userDto.getEmail());
+        }
+
+        User savedUser = userRepository.findById(id).orElseThrow();
+        dataVersionService.markChanged();
+        return savedUser;
+    }
+
     @Transactional(readOnly = true)
     public Page<UserResponseDto> getAllUsers(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
@@ -83,6 +392,26 @@ public class UserService {
         return users.map(UserResponseDto::new);
     }
 
+    @Transactional(readOnly = true)
+    public Page<UserResponseDto> getAllUsers(int page, int size, UserSortOrder order) {
+        if (order.isEmpty()) {
+            return getAllUsers(page, size);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        List<UserResponseDto> users = userBatchRepository.findPage(order, pageable.getOffset(), size);
+        return new PageImpl<>(users, pageable, userRepository.count());
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getAllUsers(UserSortOrder order) throws IOException {
+        if (order.isEmpty()) {
+            return getAllUsers();
+        }
+        List<UserResponseDto> users = new ArrayList<>();
+        forEachUser(order, users::add);
+        return users;
+    }
+
     @Transactional(readOnly = true)
     public List<UserResponseDto> getAllUsers() {
         List<User> users = userRepository.findAll(Sort.by("createdAt").descending());
@@ -91,6 +420,52 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public void forEachUser(ThrowingConsumer<UserResponseDto> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderByCreatedAtDesc()) {
+            users.forEach(user -> {
+                consumer.accept(new UserResponseDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachUser(UserSortOrder order, ThrowingConsumer<UserResponseDto> consumer) throws IOException {
+        if (order.isEmpty()) {
+            forEachUser(consumer);
+            return;
+        }
+
+        if (userBatchRepository.isIndexed(order)) {
+            try (Stream<UserResponseDto> users = userBatchRepository.streamAll(order)) {
+                users.forEach(consumer);
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (ExternalSorter<UserResponseDto> sorter = new ExternalSorter<>(order.comparator(), new UserResponseCodec(),
+                processingConfig.getSortRunSize(), processingConfig.getSortMergeFanIn(),
+                uploadConfig.getStoragePath())) {
+            try (Stream<UserResponseDto> users = userBatchRepository.streamAll()) {
+                Iterator<UserResponseDto> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    sorter.add(iterator.next());
+                }
+            }
+
+            try (ExternalSorter.Cursor<UserResponseDto> cursor = sorter.sorted()) {
+                logger.info("Sorted {} users by {} in {}ms ({} spilled runs, {} merge passes)", sorter.getCount(),
+                    order, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), sorter.getSpilledRuns(),
+                    sorter.getMergePasses());
+                for (UserResponseDto user = cursor.next(); user != null; user = cursor.next()) {
+                    consumer.accept(user);
+                }
+            }
+        }
+    }
+
     @Transactional(readOnly = true)
     public Optional<UserResponseDto> getUserById(Long id) {
         return userRepository.findById(id)
@@ -130,14 +505,789 @@ public class UserService {
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        dataVersionService.markChanged();
     }
 
     public void deleteAllUsers() {
         userRepository.deleteAll();
+        dataVersionService.markChanged();
     }
 
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
+
+    private class Ingestion {
+
+        private final ProcessingResult result;
+        private final ProcessingDetailsService.DetailsWriter details;
+        private final RejectsService.RejectsWriter rejects;
+        private final Set<String> seenEmails = new HashSet<>();
+        private final BatchEmailClaims.FileClaims batchClaims;
+        private final Object reservationOwner;
+        private final String duplicateMessage;
+        private final boolean dryRun;
+        private final boolean upsert;
+        private final int sampleLimit;
+        private final long startTime = System.nanoTime();
+        private final int batchSize;
+        private final int workers;
+        private final List<UserBatchRepository.BatchWriter> writers = new ArrayList<>();
+        private final List<String> reservedEmails = new ArrayList<>();
+        private final TransientRetryPolicy.Budget retryBudget = transientRetryPolicy.newBudget();
+        private final StagedPipeline<IngestEvent> pipeline;
+
+        private final UserRecord scratch = new UserRecord();
+        private int produced;
+        private long firstRecordTime;
+        private boolean sampled;
+
+        private final List<IngestEvent> lookups = new ArrayList<>();
+        private final List<IngestEvent> batch = new ArrayList<>();
+        private final List<IngestEvent> inserts = new ArrayList<>();
+
+        Ingestion(ProcessingResult result, ProcessingDetailsService.DetailsWriter details,
+                  RejectsService.RejectsWriter rejects, IngestOptions options) {
+            this.result = result;
+            this.details = details;
+            this.rejects = rejects;
+            this.dryRun = options.isDryRun();
+            this.upsert = options.getWriteMode() == WriteMode.UPSERT;
+            this.sampleLimit = options.getSampleLimit();
+            this.batchClaims = options.getBatchClaims();
+            this.reservationOwner = batchClaims != null ? batchClaims.getBatch() : seenEmails;
+            this.duplicateMessage = batchClaims != null ? BATCH_DUPLICATE_MESSAGE
+                : dryRun || upsert ? " appears earlier in this file - skipped" : " already exists - skipped";
+
+            this.batchSize = Math.max(1, processingConfig.getInsertBatchSize());
+            this.pipeline = new StagedPipeline<>("parse", processingConfig.getPipelineRingSize(), IngestEvent::new)
+                .addStage("validate", this::validate, batchSize)
+                .addStage("dedupe", this::dedupe, batchSize);
+
+            this.workers = processingConfig.isPipelineEnabled() && !dryRun ? processingConfig.getPersistWorkers() : 1;
+            if (workers > 1) {
+                List<StageHandler<IngestEvent>> handlers = new ArrayList<>(workers);
+                for (int i = 0; i < workers; i++) {
+                    handlers.add(writer(i));
+                }
+                pipeline.addStages("write", handlers, () -> insertBatchSize() * workers);
+            }
+            pipeline.addStage("persist", this::persist, this::insertBatchSize);
+        }
+
+        void run(RecordSource source) throws Exception {
+            StagedPipeline.Producer producer = () -> {
+                try {
+                    source.read(this::handlerFor);
+                } catch (SampleLimitReachedException e) {
+                    sampled = true;
+                }
+            };
+
+            try {
+                for (int i = 0; workers > 1 && i < workers; i++) {
+                    writers.add(userBatchRepository.openWriter());
+                }
+
+                if (processingConfig.isPipelineEnabled()) {
+                    pipeline.run(producer, pipelineExecutor);
+                } else {
+                    pipeline.runInline(producer);
+                }
+
+                for (UserBatchRepository.BatchWriter writer : writers) {
+                    writer.commit();
+                }
+            } finally {
+                for (UserBatchRepository.BatchWriter writer : writers) {
+                    writer.close();
+                }
+            }
+
+            if (sampled) {
+                result.setSampled(true);
+            }
+            if (retryBudget.getRetries() > 0) {
+                result.setRetries(retryBudget.getRetries());
+            }
+            if (produced > 0) {
+                result.setTimeToFirstRecordMs(TimeUnit.NANOSECONDS.toMillis(firstRecordTime - startTime));
+            }
+            result.setPipeline(new PipelineStatistics(processingConfig.isPipelineEnabled() ? "threaded" : "inline",
+                pipeline.size(), pipeline.getBottleneck().getName(), pipeline.getMetrics()));
+        }
+
+        UserRecordHandler handlerFor(FileType fileType) {
+            if (result.getFileType() == null) {
+                result.setFileType(fileType.getValue());
+            }
+
+            return new UserRecordHandler() {
+                @Override
+                public void onRecord(UserDto userDto, int lineNumber, Supplier<String> originalLine) throws Exception {
+                    scratch.set(userDto.getName(), userDto.getEmail());
+                    onRecord(scratch, lineNumber, originalLine);
+                }
+
+                @Override
+                public void onRecord(UserRecord record, int lineNumber, Supplier<String> originalLine)
+                        throws Exception {
+                    IngestEvent event = claim();
+                    event.set(fileType, lineNumber, record.getName(), record.getEmail(),
+                        rejects != null ? originalLine.get() : null);
+                    pipeline.publish();
+                }
+
+                @Override
+                public void onInvalidRecord(int lineNumber, String reason, Supplier<String> originalLine)
+                        throws Exception {
+                    IngestEvent event = claim();
+                    event.set(fileType, lineNumber, null, null, rejects != null ? originalLine.get() : null);
+                    event.reject(MALFORMED_CODE, reason);
+                    pipeline.publish();
+                }
+            };
+        }
+
+        private IngestEvent claim() throws Exception {
+            if (sampleLimit > 0 && produced >= sampleLimit) {
+                throw new SampleLimitReachedException();
+            }
+            if (produced++ == 0) {
+                firstRecordTime = System.nanoTime();
+            }
+            return pipeline.claim();
+        }
+
+        private void validate(IngestEvent event, long sequence, boolean endOfBatch) {
+            if (event.status == null) {
+                ValidationCode code = recordValidator.validate(event.nameText, event.emailText);
+                if (!code.isValid()) {
+                    event.reject(code.getCode(), code.describe(event.lineNumber, event.emailText));
+                }
+            }
+        }
+
+        private void dedupe(IngestEvent event, long sequence, boolean endOfBatch) {
+            if (event.status == null) {
+                lookups.add(event);
+            }
+            if (!endOfBatch || lookups.isEmpty()) {
+                return;
+            }
+
+            List<String> emails = new ArrayList<>(lookups.size());
+            for (IngestEvent lookup : lookups) {
+                if (seenEmails.contains(lookup.email()) || !claim(lookup)) {
+                    lookup.resolve(RecordDetail.STATUS_SKIPPED, "User with email " + lookup.email() + duplicateMessage);
+                } else if (!reserve(lookup)) {
+                    lookup.resolve(RecordDetail.STATUS_SKIPPED,
+                        "User with email " + lookup.email() + " is being imported by another upload - skipped");
+                } else {
+                    emails.add(lookup.email());
+                }
+            }
+
+            try {
+                Map<String, UserResponseDto> existingUsers = upsert
+                    ? lookup(emails, userBatchRepository::findExistingUsers)
+                    : null;
+                Set<String> existing = upsert
+                    ? existingUsers.keySet()
+                    : lookup(emails, userBatchRepository::findExistingEmails);
+
+                for (IngestEvent lookup : lookups) {
+                    if (lookup.status != null) {
+                        continue;
+                    }
+
+                    if (existing.contains(lookup.email()) && !upsert) {
+                        releaseReservation(lookup);
+                        lookup.resolve(RecordDetail.STATUS_SKIPPED,
+                            "User with email " + lookup.email() + " already exists - skipped");
+                    } else if (!seenEmails.add(lookup.email())) {
+                        lookup.resolve(RecordDetail.STATUS_SKIPPED,
+                            "User with email " + lookup.email() + duplicateMessage);
+                    } else if (dryRun) {
+                        lookup.resolve(RecordDetail.STATUS_PROCESSED, null);
+                    } else {
+                        reservedEmails.add(lookup.email());
+                        if (existing.contains(lookup.email())) {
+                            lookup.existing(existingUsers.get(lookup.email()));
+                        }
+                    }
+                }
+            } catch (DataAccessException e) {
+                for (IngestEvent lookup : lookups) {
+                    if (lookup.status == null) {
+                        releaseReservation(lookup);
+                        lookup.fail(e);
+                    }
+                }
+            }
+
+            lookups.clear();
+        }
+
+        private <T> T lookup(List<String> emails, Function<List<String>, T> query) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return query.apply(emails);
+                } catch (DataAccessException e) {
+                    if (TransactionSynchronizationManager.isActualTransactionActive()
+                            || !retryBudget.retry("lookup of " + emails.size() + " emails", attempt, e)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private boolean reserve(IngestEvent event) {
+            if (dryRun) {
+                return true;
+            }
+
+            Object holder = emailReservationService.reserve(reservationOwner, event.email());
+            event.reserved = holder == null;
+            return holder == null || holder == reservationOwner;
+        }
+
+        private boolean claim(IngestEvent event) {
+            return dryRun || batchClaims == null
+                || batchClaims.claim(event.email(), event.nameText, event.fileType, event.lineNumber);
+        }
+
+        private void releaseReservation(IngestEvent event) {
+            if (event.reserved) {
+                reservedEmails.add(event.email());
+            }
+        }
+
+        private StageHandler<IngestEvent> writer(int partition) {
+            List<IngestEvent> pending = new ArrayList<>();
+
+            return (event, sequence, endOfBatch) -> {
+                if (event.status == null && Math.floorMod(event.email().hashCode(), workers) == partition) {
+                    pending.add(event);
+                }
+                if (!pending.isEmpty() && (endOfBatch || pending.size() >= insertBatchSize())) {
+                    UserBatchRepository.BatchWriter writer = writers.get(partition);
+                    insert(pending, upsert ? writer::upsertAll : writer::insertAll);
+                    pending.clear();
+                }
+            };
+        }
+
+        private int insertBatchSize() {
+            return Math.min(batchSizer.getSize(), pipeline.size() / 2);
+        }
+
+        private void persist(IngestEvent event, long sequence, boolean endOfBatch) throws Exception {
+            if (RecordDetail.STATUS_REJECTED.equals(event.status) && rejects == null) {
+                throw new FileProcessingException(event.message);
+            }
+
+            result.incrementTotalRecords();
+            batch.add(event);
+
+            if (event.status == null) {
+                inserts.add(event);
+            } else {
+                record(event);
+            }
+
+            if (endOfBatch) {
+                flush();
+            }
+        }
+
+        private void record(IngestEvent event) throws IOException {
+            if (RecordDetail.STATUS_REJECTED.equals(event.status)) {
+                result.incrementRejectedRecords();
+                result.addError(ProcessingResult.ISSUE_VALIDATION, event.message);
+                rejects.write(event.lineNumber, event.code, event.message, event.originalLine);
+            } else if (RecordDetail.STATUS_SKIPPED.equals(event.status)) {
+                result.addWarning(ProcessingResult.ISSUE_DUPLICATE, event.message);
+                result.incrementSkippedRecords();
+            } else if (RecordDetail.STATUS_UNCHANGED.equals(event.status)) {
+                result.incrementSkippedRecords();
+                result.incrementUnchangedRecords();
+            } else if (RecordDetail.STATUS_ERROR.equals(event.status)) {
+                result.addError(ProcessingResult.ISSUE_PERSISTENCE, event.message);
+                result.incrementErrorRecords();
+                if (batchClaims != null && !dryRun) {
+                    batchClaims.abandon(event.email());
+                }
+            } else {
+                result.incrementProcessedRecords();
+                if (RecordDetail.STATUS_UPDATED.equals(event.status)) {
+                    result.incrementUpdatedRecords();
+                } else if (upsert) {
+                    result.incrementInsertedRecords();
+                }
+                if (event.userId != null && !result.isSummaryOnly()) {
+                    result.addProcessedUser(new UserResponseDto(event.userId, event.name(), event.email(),
+                        event.source, event.createdAt, event.updatedAt));
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            if (!inserts.isEmpty()) {
+                insert(inserts, upsert ? userBatchRepository::upsertAll : userBatchRepository::insertAll);
+                for (IngestEvent event : inserts) {
+                    record(event);
+                }
+            }
+
+            if (details != null) {
+                for (IngestEvent event : batch) {
+                    details.write(new RecordDetail(event.lineNumber, event.status, event.email(), event.userId,
+                        event.message));
+                }
+            }
+
+            batch.clear();
+            inserts.clear();
+        }
+
+        private void insert(List<IngestEvent> events, BatchInsert batchInsert) {
+            List<CharSequence> names = new ArrayList<>(events.size());
+            List<String> emails = new ArrayList<>(events.size());
+            List<String> sources = new ArrayList<>(events.size());
+            for (IngestEvent event : events) {
+                names.add(event.nameText);
+                emails.add(event.email());
+                sources.add(event.fileType.getValue());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            long[] ids = null;
+            for (int attempt = 1; ids == null; attempt++) {
+                long start = System.nanoTime();
+                try {
+                    ids = batchInsert.insertAll(names, emails, sources, now);
+                    batchSizer.recordBatch(events.size(), System.nanoTime() - start);
+                } catch (DataAccessException e) {
+                    batchSizer.recordFailure(events.size(), e);
+                    if (!retryBudget.retryInTransaction("insert of " + events.size() + " rows", attempt, e)) {
+                        for (IngestEvent event : events) {
+                            event.fail(e);
+                        }
+                        return;
+                    }
+                }
+            }
+
+            for (int i = 0; i < events.size(); i++) {
+                IngestEvent event = events.get(i);
+                if (ids[i] == 0) {
+                    if (upsert) {
+                        event.status = RecordDetail.STATUS_UNCHANGED;
+                    } else {
+                        event.resolve(RecordDetail.STATUS_SKIPPED,
+                            "User with email " + event.email() + " already exists - skipped");
+                    }
+                    continue;
+                }
+
+                event.userId = ids[i];
+                event.updatedAt = now;
+                if (event.existing) {
+                    event.status = RecordDetail.STATUS_UPDATED;
+                } else {
+                    event.source = event.fileType.getValue();
+                    event.createdAt = now;
+                    event.status = RecordDetail.STATUS_PROCESSED;
+                }
+            }
+        }
+    }
+
+    private static class IngestEvent {
+
+        private final TextBuffer nameText = new TextBuffer();
+        private final TextBuffer emailText = new TextBuffer();
+        private FileType fileType;
+        private int lineNumber;
+        private String originalLine;
+        private String status;
+        private String code;
+        private String message;
+        private Long userId;
+        private String source;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private boolean existing;
+        private boolean reserved;
+
+        void set(FileType fileType, int lineNumber, CharSequence name, CharSequence email, String originalLine) {
+            this.fileType = fileType;
+            this.lineNumber = lineNumber;
+            this.nameText.set(name);
+            this.emailText.set(email);
+            this.originalLine = originalLine;
+            this.status = null;
+            this.code = null;
+            this.message = null;
+            this.userId = null;
+            this.source = null;
+            this.createdAt = null;
+            this.updatedAt = null;
+            this.existing = false;
+            this.reserved = false;
+        }
+
+        String name() {
+            return nameText.toString();
+        }
+
+        String email() {
+            return emailText.toString();
+        }
+
+        void reject(String code, String message) {
+            this.status = RecordDetail.STATUS_REJECTED;
+            this.code = code;
+            this.message = message;
+        }
+
+        void existing(UserResponseDto user) {
+            this.existing = true;
+            this.userId = user.getId();
+            this.source = user.getSource();
+            this.createdAt = user.getCreatedAt();
+            if (user.getName().contentEquals(nameText)) {
+                this.status = RecordDetail.STATUS_UNCHANGED;
+            }
+        }
+
+        void resolve(String status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        void fail(DataAccessException e) {
+            resolve(RecordDetail.STATUS_ERROR, "Error processing user " + emailText + ": " + e.getMessage());
+        }
+    }
+
+    private class SnapshotSync {
+
+        private final String source;
+        private final boolean dryRun;
+        private final ProcessingResult result = new ProcessingResult();
+        private final TransientRetryPolicy.Budget retryBudget = transientRetryPolicy.newBudget();
+        private final List<String> reservedEmails = new ArrayList<>();
+        private final List<SnapshotRow> inserts = new ArrayList<>();
+        private final List<Long> updateIds = new ArrayList<>();
+        private final List<String> updateNames = new ArrayList<>();
+        private final List<Long> deleteIds = new ArrayList<>();
+        private final LocalDateTime now = LocalDateTime.now();
+        private final long startTime = System.nanoTime();
+
+        private ExternalSorter.Cursor<SnapshotRow> snapshot;
+        private SnapshotRow current;
+        private String previousEmail;
+        private String storedEmail;
+
+        SnapshotSync(String source, boolean dryRun) {
+            this.source = source;
+            this.dryRun = dryRun;
+            result.enableSummaryMode(processingConfig.getSummarySampleSize());
+            result.enableUpsertCounts();
+            result.setDeletedRecords(0);
+        }
+
+        ProcessingResult run(RecordSource records) throws Exception {
+            try (ExternalSorter<SnapshotRow> sorter = new ExternalSorter<>(SnapshotRow.ORDER, SnapshotRow.CODEC,
+                    processingConfig.getSortRunSize(), processingConfig.getSortMergeFanIn(),
+                    uploadConfig.getStoragePath())) {
+                records.read(fileType -> handlerFor(fileType, sorter));
+
+                try (ExternalSorter.Cursor<SnapshotRow> cursor = sorter.sorted();
+                     Stream<UserResponseDto> stored = userBatchRepository.streamBySource(source)) {
+                    snapshot = cursor;
+                    current = nextSnapshotRow();
+
+                    Iterator<UserResponseDto> users = stored.iterator();
+                    while (users.hasNext()) {
+                        merge(users.next());
+                    }
+                    while (current != null) {
+                        insert(current);
+                        current = nextSnapshotRow();
+                    }
+
+                    flushInserts();
+                    flushUpdates();
+                    flushDeletes();
+                }
+
+                result.setSort(new SortStatistics(sorter.getCount(), sorter.isPresorted(), sorter.getSpilledRuns(),
+                    sorter.getMergePasses()));
+            } finally {
+                emailReservationService.releaseAfterCompletion(this, reservedEmails);
+            }
+
+            if (retryBudget.getRetries() > 0) {
+                result.setRetries(retryBudget.getRetries());
+            }
+            result.setProcessingTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            return result;
+        }
+
+        UserRecordHandler handlerFor(FileType fileType, ExternalSorter<SnapshotRow> sorter) {
+            if (result.getFileType() == null) {
+                result.setFileType(fileType.getValue());
+            }
+
+            return new UserRecordHandler() {
+                @Override
+                public void onRecord(UserDto userDto, int lineNumber, Supplier<String> originalLine) throws Exception {
+                    add(userDto.getName() != null ? userDto.getName() : "", userDto.getEmail(), lineNumber);
+                }
+
+                @Override
+                public void onRecord(UserRecord record, int lineNumber, Supplier<String> originalLine)
+                        throws Exception {
+                    add(record.getName().toString(), record.getEmail().toString(), lineNumber);
+                }
+
+                private void add(String name, String email, int lineNumber) throws Exception {
+                    ValidationCode code = recordValidator.validate(name, email);
+                    if (!code.isValid()) {
+                        throw new FileProcessingException(code.describe(lineNumber, email));
+                    }
+                    sorter.add(new SnapshotRow(email, name, result.getTotalRecords()));
+                    result.incrementTotalRecords();
+                }
+            };
+        }
+
+        private SnapshotRow nextSnapshotRow() throws IOException {
+            SnapshotRow row = snapshot.next();
+            while (row != null && row.email.equals(previousEmail)) {
+                skip(row, " appears earlier in this file - skipped");
+                row = snapshot.next();
+            }
+            if (row != null) {
+                previousEmail = row.email;
+            }
+            return row;
+        }
+
+        private void merge(UserResponseDto user) throws IOException {
+            String email = user.getEmail();
+            if (storedEmail != null && CodePointComparator.INSTANCE.compare(storedEmail, email) >= 0) {
+                throw new IllegalStateException("Users of source '" + source + "' are not ordered by email");
+            }
+            storedEmail = email;
+
+            while (current != null && CodePointComparator.INSTANCE.compare(current.email, email) < 0) {
+                insert(current);
+                current = nextSnapshotRow();
+            }
+
+            if (current != null && current.email.equals(email)) {
+                if (current.name.equals(user.getName())) {
+                    result.incrementSkippedRecords();
+                    result.incrementUnchangedRecords();
+                } else {
+                    update(user.getId(), current.name);
+                }
+                current = nextSnapshotRow();
+            } else {
+                delete(user.getId());
+            }
+        }
+
+        private void insert(SnapshotRow row) {
+            inserts.add(row);
+            if (inserts.size() >= batchSizer.getSize()) {
+                flushInserts();
+            }
+        }
+
+        private void update(long id, String name) {
+            updateIds.add(id);
+            updateNames.add(name);
+            if (updateIds.size() >= batchSizer.getSize()) {
+                flushUpdates();
+            }
+        }
+
+        private void delete(long id) {
+            deleteIds.add(id);
+            if (deleteIds.size() >= batchSizer.getSize()) {
+                flushDeletes();
+            }
+        }
+
+        private void flushInserts() {
+            if (inserts.isEmpty()) {
+                return;
+            }
+
+            List<SnapshotRow> pending = new ArrayList<>(inserts.size());
+            List<String> emails = new ArrayList<>(inserts.size());
+            for (SnapshotRow row : inserts) {
+                if (!dryRun && emailReservationService.reserve(this, row.email) != null) {
+                    skip(row, " is being imported by another upload - skipped");
+                    continue;
+                }
+                if (!dryRun) {
+                    reservedEmails.add(row.email);
+                }
+                pending.add(row);
+                emails.add(row.email);
+            }
+            inserts.clear();
+
+            Set<String> taken = userBatchRepository.findExistingEmails(emails);
+
+            List<String> names = new ArrayList<>(pending.size());
+            emails.clear();
+            for (SnapshotRow row : pending) {
+                if (taken.contains(row.email)) {
+                    skip(row, " belongs to another source - skipped");
+                } else {
+                    names.add(row.name);
+                    emails.add(row.email);
+                }
+            }
+            if (emails.isEmpty()) {
+                return;
+            }
+
+            long[] ids = dryRun ? null : retry("insert of " + emails.size() + " rows", () -> {
+                long start = System.nanoTime();
+                try {
+                    long[] inserted = userBatchRepository.insertAll(names, emails,
+                        Collections.nCopies(emails.size(), source), now);
+                    batchSizer.recordBatch(emails.size(), System.nanoTime() - start);
+                    return inserted;
+                } catch (DataAccessException e) {
+                    batchSizer.recordFailure(emails.size(), e);
+                    throw e;
+                }
+            });
+
+            for (int i = 0; i < emails.size(); i++) {
+                if (ids != null && ids[i] == 0) {
+                    result.incrementSkippedRecords();
+                    result.addWarning(ProcessingResult.ISSUE_DUPLICATE,
+                        "User with email " + emails.get(i) + " already exists - skipped");
+                } else {
+                    result.incrementProcessedRecords();
+                    result.incrementInsertedRecords();
+                }
+            }
+        }
+
+        private void flushUpdates() {
+            if (updateIds.isEmpty()) {
+                return;
+            }
+
+            if (!dryRun) {
+                retry("update of " + updateIds.size() + " rows", () -> {
+                    userBatchRepository.updateNames(updateIds, updateNames, now);
+                    return null;
+                });
+            }
+            for (int i = 0; i < updateIds.size(); i++) {
+                result.incrementProcessedRecords();
+                result.incrementUpdatedRecords();
+            }
+
+            updateIds.clear();
+            updateNames.clear();
+        }
+
+        private void flushDeletes() {
+            if (deleteIds.isEmpty()) {
+                return;
+            }
+
+            if (!dryRun) {
+                retry("delete of " + deleteIds.size() + " rows", () -> {
+                    userBatchRepository.deleteAll(deleteIds);
+                    return null;
+                });
+            }
+            for (int i = 0; i < deleteIds.size(); i++) {
+                result.incrementDeletedRecords();
+            }
+
+            deleteIds.clear();
+        }
+
+        private void skip(SnapshotRow row, String reason) {
+            result.incrementSkippedRecords();
+            result.addWarning(ProcessingResult.ISSUE_DUPLICATE, "User with email " + row.email + reason);
+        }
+
+        private <T> T retry(String task, Supplier<T> operation) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return operation.get();
+                } catch (DataAccessException e) {
+                    if (!retryBudget.retryInTransaction(task, attempt, e)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class SnapshotRow {
+
+        static final Comparator<SnapshotRow> ORDER = Comparator
+            .<SnapshotRow, String>comparing(row -> row.email, CodePointComparator.INSTANCE)
+            .thenComparingInt(row -> row.sequence);
+
+        static final RecordCodec<SnapshotRow> CODEC = new RecordCodec<>() {
+            @Override
+            public void write(DataOutput out, SnapshotRow row) throws IOException {
+                out.writeUTF(row.email);
+                out.writeUTF(row.name);
+                out.writeInt(row.sequence);
+            }
+
+            @Override
+            public SnapshotRow read(DataInput in) throws IOException {
+                return new SnapshotRow(in.readUTF(), in.readUTF(), in.readInt());
+            }
+        };
+
+        private final String email;
+        private final String name;
+        private final int sequence;
+
+        SnapshotRow(String email, String name, int sequence) {
+            this.email = email;
+            this.name = name;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class SampleLimitReachedException extends Exception {
+
+        SampleLimitReachedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private interface BatchInsert {
+
+        long[] insertAll(List<? extends CharSequence> names, List<String> emails, List<String> sources,
+                         LocalDateTime timestamp);
+    }
+
+    private interface RecordSource {
+
+        void read(Function<FileType, UserRecordHandler> handlers) throws Exception;
+    }
 }
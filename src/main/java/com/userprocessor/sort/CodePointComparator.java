@@ -0,0 +1,31 @@
+package com.userprocessor.sort;
+
+import java.util.Comparator;
+
+public final class CodePointComparator implements Comparator<String> {
+
+    public static final CodePointComparator INSTANCE = new CodePointComparator();
+
+    private CodePointComparator() {
+    }
+
+    @Override
+    public int compare(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                return rank(x) - rank(y);
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    private static int rank(char c) {
+        if (c >= '\uE000') {
+            return c - 0x800;
+        }
+        return c >= '\uD800' ? c + 0x2000 : c;
+    }
+}
@@ -0,0 +1,339 @@
+package com.userprocessor.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class ExternalSorter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Comparator<? super T> comparator;
+    private final RecordCodec<T> codec;
+    private final int runSize;
+    private final int maxFanIn;
+    private final Path directory;
+
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    private List<T> buffer = new ArrayList<>();
+    private T last;
+    private boolean presorted = true;
+    private long count;
+    private int spilledRuns;
+    private int mergePasses;
+
+    public ExternalSorter(Comparator<? super T> comparator, RecordCodec<T> codec, int runSize, int maxFanIn,
+                          Path directory) {
+        this.comparator = comparator;
+        this.codec = codec;
+        this.runSize = Math.max(1, runSize);
+        this.maxFanIn = Math.max(2, maxFanIn);
+        this.directory = directory;
+    }
+
+    public void add(T record) throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("Records cannot be added after sorting has started");
+        }
+
+        if (last != null && comparator.compare(last, record) > 0) {
+            presorted = false;
+        }
+        last = record;
+        count++;
+
+        buffer.add(record);
+        if (buffer.size() >= runSize) {
+            spill();
+        }
+    }
+
+    public Cursor<T> sorted() throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("Records can only be sorted once");
+        }
+
+        List<T> remaining = buffer;
+        buffer = null;
+        last = null;
+        if (!presorted) {
+            remaining.sort(comparator);
+        }
+
+        while (!presorted && runs.size() + 1 > maxFanIn) {
+            mergePass();
+        }
+
+        List<Cursor<T>> cursors = new ArrayList<>(runs.size() + 1);
+        try {
+            for (Path run : runs) {
+                cursors.add(new RunCursor(run));
+            }
+        } catch (IOException e) {
+            closeAll(cursors);
+            throw e;
+        }
+        cursors.add(new MemoryCursor<>(remaining.iterator()));
+
+        return presorted ? new ConcatCursor<>(cursors) : new MergeCursor<>(cursors, comparator);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isPresorted() {
+        return presorted;
+    }
+
+    public int getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        IOException failure = null;
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        files.clear();
+        runs.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void spill() throws IOException {
+        if (!presorted) {
+            buffer.sort(comparator);
+        }
+
+        Path run = newRunFile();
+        try (DataOutputStream out = output(run)) {
+            out.writeLong(buffer.size());
+            for (T record : buffer) {
+                codec.write(out, record);
+            }
+        }
+
+        runs.add(run);
+        spilledRuns++;
+        buffer = new ArrayList<>();
+    }
+
+    private void mergePass() throws IOException {
+        List<Path> batch = new ArrayList<>(runs.subList(0, maxFanIn));
+        List<Cursor<T>> cursors = new ArrayList<>(batch.size());
+        long total = 0;
+
+        Path merged = newRunFile();
+        try {
+            for (Path run : batch) {
+                RunCursor cursor = new RunCursor(run);
+                cursors.add(cursor);
+                total += cursor.remaining;
+            }
+
+            try (MergeCursor<T> merge = new MergeCursor<>(cursors, comparator);
+                 DataOutputStream out = output(merged)) {
+                out.writeLong(total);
+                for (T record = merge.next(); record != null; record = merge.next()) {
+                    codec.write(out, record);
+                }
+            }
+        } finally {
+            closeAll(cursors);
+        }
+
+        runs.removeAll(batch);
+        runs.add(merged);
+        for (Path run : batch) {
+            Files.deleteIfExists(run);
+            files.remove(run);
+        }
+        mergePasses++;
+    }
+
+    private Path newRunFile() throws IOException {
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "sort-run-", ".bin");
+        files.add(file);
+        return file;
+    }
+
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static void closeAll(List<? extends Closeable> closeables) throws IOException {
+        IOException failure = null;
+        for (Closeable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public interface Cursor<T> extends Closeable {
+
+        T next() throws IOException;
+    }
+
+    private final class RunCursor implements Cursor<T> {
+
+        private final DataInputStream in;
+        private long remaining;
+
+        RunCursor(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+            try {
+                this.remaining = in.readLong();
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public T next() throws IOException {
+            if (remaining == 0) {
+                return null;
+            }
+            remaining--;
+            return codec.read(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class MemoryCursor<T> implements Cursor<T> {
+
+        private final Iterator<T> records;
+
+        MemoryCursor(Iterator<T> records) {
+            this.records = records;
+        }
+
+        @Override
+        public T next() {
+            return records.hasNext() ? records.next() : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ConcatCursor<T> implements Cursor<T> {
+
+        private final List<Cursor<T>> cursors;
+        private int index;
+
+        ConcatCursor(List<Cursor<T>> cursors) {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public T next() throws IOException {
+            while (index < cursors.size()) {
+                T record = cursors.get(index).next();
+                if (record != null) {
+                    return record;
+                }
+                cursors.get(index++).close();
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeAll(cursors);
+        }
+    }
+
+    private static final class MergeCursor<T> implements Cursor<T> {
+
+        private final List<Cursor<T>> cursors;
+        private final PriorityQueue<Head<T>> heads;
+
+        MergeCursor(List<Cursor<T>> cursors, Comparator<? super T> comparator) throws IOException {
+            this.cursors = cursors;
+            Comparator<Head<T>> order = (a, b) -> comparator.compare(a.record, b.record);
+            this.heads = new PriorityQueue<>(Math.max(1, cursors.size()), order.thenComparingInt(head -> head.source));
+            for (int i = 0; i < cursors.size(); i++) {
+                T record = cursors.get(i).next();
+                if (record != null) {
+                    heads.add(new Head<>(record, i));
+                }
+            }
+        }
+
+        @Override
+        public T next() throws IOException {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+
+            T record = head.record;
+            T following = cursors.get(head.source).next();
+            if (following != null) {
+                head.record = following;
+                heads.add(head);
+            }
+            return record;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeAll(cursors);
+        }
+    }
+
+    private static final class Head<T> {
+
+        private T record;
+        private final int source;
+
+        Head(T record, int source) {
+            this.record = record;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.userprocessor.sort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface RecordCodec<T> {
+
+    void write(DataOutput out, T record) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.userprocessor.sort;
+
+import com.userprocessor.dto.UserResponseDto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public class UserResponseCodec implements RecordCodec<UserResponseDto> {
+
+    @Override
+    public void write(DataOutput out, UserResponseDto user) throws IOException {
+        out.writeLong(user.getId());
+        out.writeUTF(user.getName());
+        out.writeUTF(user.getEmail());
+        out.writeUTF(user.getSource());
+        writeDateTime(out, user.getCreatedAt());
+        writeDateTime(out, user.getUpdatedAt());
+    }
+
+    @Override
+    public UserResponseDto read(DataInput in) throws IOException {
+        return new UserResponseDto(in.readLong(), in.readUTF(), in.readUTF(), in.readUTF(), readDateTime(in),
+            readDateTime(in));
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.userprocessor.sort;
+
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.enums.SortField;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class UserSortOrder {
+
+    private static final int MAX_KEYS = 2;
+
+    private final List<Key> keys;
+
+    private UserSortOrder(List<Key> keys) {
+        this.keys = keys;
+    }
+
+    public static UserSortOrder parse(String value) {
+        List<Key> keys = new ArrayList<>(MAX_KEYS);
+        if (value == null || value.isBlank()) {
+            return new UserSortOrder(keys);
+        }
+
+        String[] parts = value.split(",");
+        if (parts.length > MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYS + " sort keys are supported: " + value);
+        }
+
+        for (String part : parts) {
+            String trimmed = part.trim();
+            boolean descending = trimmed.startsWith("-");
+            SortField field = SortField.fromString(descending ? trimmed.substring(1) : trimmed);
+            if (keys.stream().anyMatch(key -> key.field == field)) {
+                throw new IllegalArgumentException("Duplicate sort field: " + field);
+            }
+            keys.add(new Key(field, descending));
+        }
+        return new UserSortOrder(keys);
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    public boolean isIndexed() {
+        return isIndexed(true);
+    }
+
+    public boolean isIndexed(boolean textIndexed) {
+        return !keys.isEmpty() && keys.get(0).field.isUnique() && (textIndexed || !keys.get(0).field.isText());
+    }
+
+    public Comparator<UserResponseDto> comparator() {
+        Comparator<UserResponseDto> comparator = null;
+        for (Key key : keys) {
+            Comparator<UserResponseDto> next = key.descending
+                ? key.field.getComparator().reversed()
+                : key.field.getComparator();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? SortField.ID.getComparator() : comparator.thenComparing(SortField.ID.getComparator());
+    }
+
+    public String toSql(String textCollation) {
+        String columns = keys.stream()
+            .map(key -> key.field.getColumn() + (key.field.isText() ? textCollation : "") + (key.descending ? " DESC" : ""))
+            .collect(Collectors.joining(", "));
+        return isIndexed() ? columns : columns + ", id";
+    }
+
+    @Override
+    public String toString() {
+        return keys.stream()
+            .map(key -> (key.descending ? "-" : "") + key.field.getValue())
+            .collect(Collectors.joining(","));
+    }
+
+    private static final class Key {
+
+        private final SortField field;
+        private final boolean descending;
+
+        Key(SortField field, boolean descending) {
+            this.field = field;
+            this.descending = descending;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.userprocessor.util;
+
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class ContentSniffer {
+
+    public static final int SNIFF_LENGTH = 4 * 1024;
+
+    private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 0x03, 0x04};
+    private static final byte[] ZIP_EMPTY_MAGIC = {'P', 'K', 0x05, 0x06};
+    private static final byte[] PARQUET_MAGIC = {'P', 'A', 'R', '1'};
+    private static final byte[] UTF8_BOM = {(byte) 0xef, (byte) 0xbb, (byte) 0xbf};
+    private static final byte[] CSV_DELIMITER_CANDIDATES = {',', ';', '\t', '|'};
+
+    public static byte[] peek(InputStream inputStream) throws IOException {
+        inputStream.mark(SNIFF_LENGTH);
+        byte[] head = inputStream.readNBytes(SNIFF_LENGTH);
+        inputStream.reset();
+        return head;
+    }
+
+    public static byte[] head(InputStream inputStream) throws IOException {
+        return inputStream.readNBytes(SNIFF_LENGTH);
+    }
+
+    public static CompressionType detectCompression(byte[] head) {
+        if (startsWith(head, 0, GZIP_MAGIC)) {
+            return CompressionType.GZIP;
+        }
+        if (startsWith(head, 0, ZIP_MAGIC) || startsWith(head, 0, ZIP_EMPTY_MAGIC)) {
+            return CompressionType.ZIP;
+        }
+        return CompressionType.NONE;
+    }
+
+    public static FileType detectFileType(byte[] head) {
+        if (startsWith(head, 0, PARQUET_MAGIC)) {
+            return FileType.PARQUET;
+        }
+        if (isBinary(head)) {
+            return null;
+        }
+
+        int start = startsWith(head, 0, UTF8_BOM) ? UTF8_BOM.length : 0;
+        int first = skipWhitespace(head, start);
+        if (first == head.length) {
+            return null;
+        }
+
+        switch (head[first]) {
+            case '[':
+                return FileType.JSON;
+            case '{':
+                return closesOnFirstLine(head, first) ? FileType.NDJSON : FileType.JSON;
+            case '<':
+                return isXmlStart(head, first) ? FileType.XML : null;
+            default:
+                return detectDelimiter(head, start) == ',' ? FileType.CSV : null;
+        }
+    }
+
+    public static FileType resolveFileType(FileType declaredType, byte[] head) throws FileProcessingException {
+        if (head.length == 0) {
+            if (declaredType == null) {
+                throw new FileProcessingException("Could not detect file type: file is empty");
+            }
+            return declaredType;
+        }
+
+        FileType detectedType = detectFileType(head);
+
+        if (detectedType != null) {
+            if (declaredType != null && declaredType != detectedType) {
+                throw new FileProcessingException(String.format(
+                    "File content does not match file type. Expected: %s, Detected: %s",
+                    declaredType.getValue(), detectedType.getValue()));
+            }
+            return detectedType;
+        }
+
+        CompressionType compression = detectCompression(head);
+        if (compression != CompressionType.NONE) {
+            throw new FileProcessingException(String.format(
+                "File content is %s-compressed; use a .%s file name or set the compression", compression,
+                compression.getExtension()));
+        }
+
+        if (isBinary(head)) {
+            throw new FileProcessingException(declaredType != null
+                ? "File content is not a valid " + declaredType.getValue().toUpperCase() + " file"
+                : "File content is not a recognized CSV, JSON, NDJSON, XML or Parquet file");
+        }
+
+        if (declaredType == null) {
+            throw new FileProcessingException("Could not detect file type from content; specify fileType");
+        }
+        return declaredType;
+    }
+
+    private static boolean isBinary(byte[] head) {
+        int control = 0;
+        for (byte b : head) {
+            if (b == 0) {
+                return true;
+            }
+            if ((b & 0xff) < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                control++;
+            }
+        }
+        return control * 10 > head.length;
+    }
+
+    private static boolean isXmlStart(byte[] head, int offset) {
+        if (offset + 1 >= head.length) {
+            return false;
+        }
+        byte next = head[offset + 1];
+        return next == '?' || next == '!' || Character.isLetter(next) || next == '_' || (next & 0xff) >= 0x80;
+    }
+
+    private static boolean closesOnFirstLine(byte[] head, int offset) {
+        int depth = 0;
+        boolean inString = false;
+
+        for (int i = offset; i < head.length; i++) {
+            byte b = head[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (--depth == 0) {
+                    return true;
+                }
+            } else if (b == '\n') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte detectDelimiter(byte[] head, int start) {
+        byte best = 0;
+        int bestScore = 0;
+
+        for (byte delimiter : CSV_DELIMITER_CANDIDATES) {
+            int score = scoreDelimiter(head, start, delimiter);
+            if (score > bestScore) {
+                best = delimiter;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static int scoreDelimiter(byte[] head, int start, byte delimiter) {
+        int headerCount = -1;
+        int matchingLines = 0;
+        int lines = 0;
+        int count = 0;
+        boolean inQuotes = false;
+
+        for (int i = start; i < head.length; i++) {
+            byte b = head[i];
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes && b == delimiter) {
+                count++;
+            } else if (!inQuotes && b == '\n') {
+                if (headerCount < 0) {
+                    headerCount = count;
+                } else if (count == headerCount) {
+                    matchingLines++;
+                }
+                lines++;
+                count = 0;
+            }
+        }
+
+        if (headerCount < 0) {
+            headerCount = count;
+            lines = 1;
+        }
+
+        if (headerCount == 0 || (lines > 1 && matchingLines * 2 < lines - 1)) {
+            return 0;
+        }
+        return headerCount * (matchingLines + 1);
+    }
+
+    private static int skipWhitespace(byte[] head, int offset) {
+        while (offset < head.length && (head[offset] == ' ' || head[offset] == '\t'
+                || head[offset] == '\r' || head[offset] == '\n')) {
+            offset++;
+        }
+        return offset;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package com.userprocessor.util;
+
+import com.userprocessor.exception.DecompressionLimitException;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class DecompressionUtil {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    public static InputStream gunzip(InputStream inputStream, long maxBytes, int maxRatio) throws IOException {
+        CountingInputStream compressed = new CountingInputStream(inputStream);
+        return new GuardedInputStream(new GZIPInputStream(compressed, BUFFER_SIZE), compressed, maxBytes, maxRatio);
+    }
+
+    public static void forEachZipEntry(InputStream inputStream, long maxBytes, int maxRatio, ZipEntryHandler handler)
+            throws Exception {
+        CountingInputStream compressed = new CountingInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+        ZipInputStream zip = new ZipInputStream(compressed);
+        GuardedInputStream guarded = new GuardedInputStream(zip, compressed, maxBytes, maxRatio);
+
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory() && !isMetadataEntry(entry.getName())) {
+                handler.onEntry(entry.getName(), StreamUtils.nonClosing(guarded));
+            }
+            guarded.transferTo(OutputStream.nullOutputStream());
+            zip.closeEntry();
+        }
+    }
+
+    private static boolean isMetadataEntry(String name) {
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return name.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+
+    public interface ZipEntryHandler {
+
+        void onEntry(String name, InputStream inputStream) throws Exception;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static class GuardedInputStream extends FilterInputStream {
+
+        private final CountingInputStream compressed;
+        private final long maxBytes;
+        private final int maxRatio;
+        private long total;
+
+        GuardedInputStream(InputStream in, CountingInputStream compressed, long maxBytes, int maxRatio) {
+            super(in);
+            this.compressed = compressed;
+            this.maxBytes = maxBytes;
+            this.maxRatio = maxRatio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                account(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                account(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            account(skipped);
+            return skipped;
+        }
+
+        private void account(long bytes) throws DecompressionLimitException {
+            total += bytes;
+
+            if (total > maxBytes) {
+                throw new DecompressionLimitException(String.format(
+                    "Decompressed size exceeds maximum allowed size (%s)", FileValidationUtil.formatFileSize(maxBytes)));
+            }
+
+            if (total > RATIO_CHECK_THRESHOLD && total > compressed.count * maxRatio) {
+                throw new DecompressionLimitException(String.format(
+                    "Compression ratio exceeds maximum allowed ratio of %d:1", maxRatio));
+            }
+        }
+    }
+}
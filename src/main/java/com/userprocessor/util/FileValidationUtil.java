@@ -1,5 +1,6 @@
 package com.userprocessor.util;
 
+import com.userprocessor.enums.CompressionType;
 import com.userprocessor.enums.FileType;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,25 +21,54 @@ public class FileValidationUtil {
         "text/plain"
     );
 
+    private static final List<String> NDJSON_MIME_TYPES = Arrays.asList(
+        "application/x-ndjson",
+        "application/jsonl",
+        "application/json",
+        "text/plain"
+    );
+
     private static final List<String> XML_MIME_TYPES = Arrays.asList(
         "application/xml",
         "text/xml",
         "text/plain"
     );
 
+    private static final List<String> PARQUET_MIME_TYPES = Arrays.asList(
+        "application/vnd.apache.parquet",
+        "application/x-parquet",
+        "application/octet-stream"
+    );
+
+    private static final List<String> COMPRESSED_MIME_TYPES = Arrays.asList(
+        "application/gzip",
+        "application/x-gzip",
+        "application/zip",
+        "application/x-zip-compressed",
+        "application/octet-stream"
+    );
+
     public static boolean isValidMimeType(MultipartFile file, FileType fileType) {
         String mimeType = file.getContentType();
         if (mimeType == null) {
             return false;
         }
 
+        if (CompressionType.fromFileName(file.getOriginalFilename()) != CompressionType.NONE) {
+            return COMPRESSED_MIME_TYPES.contains(mimeType.toLowerCase());
+        }
+
         switch (fileType) {
             case CSV:
                 return CSV_MIME_TYPES.contains(mimeType.toLowerCase());
             case JSON:
                 return JSON_MIME_TYPES.contains(mimeType.toLowerCase());
+            case NDJSON:
+                return NDJSON_MIME_TYPES.contains(mimeType.toLowerCase());
             case XML:
                 return XML_MIME_TYPES.contains(mimeType.toLowerCase());
+            case PARQUET:
+                return PARQUET_MIME_TYPES.contains(mimeType.toLowerCase());
             default:
                 return false;
         }
@@ -49,20 +79,32 @@ public class FileValidationUtil {
             return null;
         }
 
-        String extension = getFileExtension(filename).toLowerCase();
+        String extension = getFileExtension(stripCompressionExtension(filename)).toLowerCase();
         
         switch (extension) {
             case "csv":
                 return FileType.CSV;
             case "json":
                 return FileType.JSON;
+            case "ndjson":
+            case "jsonl":
+                return FileType.NDJSON;
             case "xml":
                 return FileType.XML;
+            case "parquet":
+                return FileType.PARQUET;
             default:
                 return null;
         }
     }
 
+    public static String stripCompressionExtension(String filename) {
+        if (filename == null || CompressionType.fromFileName(filename) == CompressionType.NONE) {
+            return filename;
+        }
+        return filename.substring(0, filename.lastIndexOf('.'));
+    }
+
     public static String getFileExtension(String filename) {
         if (filename == null || filename.lastIndexOf('.') == -1) {
             return "";
@@ -79,8 +121,10 @@ public class FileValidationUtil {
             return sizeInBytes + " B";
         } else if (sizeInBytes < 1024 * 1024) {
             return String.format("%.1f KB", sizeInBytes / 1024.0);
-        } else {
+        } else if (sizeInBytes < 1024L * 1024 * 1024) {
             return String.format("%.1f MB", sizeInBytes / (1024.0 * 1024.0));
+        } else {
+            return String.format("%.1f GB", sizeInBytes / (1024.0 * 1024.0 * 1024.0));
         }
     }
 }
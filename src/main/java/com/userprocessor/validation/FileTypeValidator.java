@@ -12,7 +12,11 @@ public class FileTypeValidator implements ConstraintValidator<ValidFileType, Str
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
-        if (value == null || value.trim().isEmpty()) {
+        if (value == null) {
+            return true;
+        }
+
+        if (value.trim().isEmpty()) {
             return false;
         }
         
@@ -0,0 +1,115 @@
+package com.userprocessor.validation;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.UserDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserRecordValidator {
+
+    private static final int MAX_FIELD_LENGTH = 255;
+    private static final int MIN_TLD_LENGTH = 2;
+
+    private final boolean validateEmailFormat;
+    private final boolean allowEmptyFields;
+
+    @Autowired
+    public UserRecordValidator(ProcessingConfig processingConfig) {
+        this.validateEmailFormat = processingConfig.isValidateEmailFormat();
+        this.allowEmptyFields = processingConfig.isAllowEmptyFields();
+    }
+
+    public ValidationCode validate(UserDto userDto) {
+        return validate(userDto.getName(), userDto.getEmail());
+    }
+
+    public ValidationCode validate(CharSequence name, CharSequence email) {
+        if (!allowEmptyFields && isBlank(name)) {
+            return ValidationCode.NAME_REQUIRED;
+        }
+
+        if (isBlank(email)) {
+            return ValidationCode.EMAIL_REQUIRED;
+        }
+
+        if (validateEmailFormat && !isValidEmail(email)) {
+            return ValidationCode.EMAIL_INVALID;
+        }
+
+        if (name != null && name.length() > MAX_FIELD_LENGTH) {
+            return ValidationCode.NAME_TOO_LONG;
+        }
+
+        if (email.length() > MAX_FIELD_LENGTH) {
+            return ValidationCode.EMAIL_TOO_LONG;
+        }
+
+        return ValidationCode.VALID;
+    }
+
+    public static boolean isValidEmail(CharSequence email) {
+        int length = email.length();
+        int at = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isLocalChar(c)) {
+                return false;
+            }
+        }
+
+        if (at < 1) {
+            return false;
+        }
+
+        int lastDot = -1;
+        for (int i = at + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isDomainChar(c)) {
+                return false;
+            }
+        }
+
+        if (lastDot <= at + 1 || length - lastDot - 1 < MIN_TLD_LENGTH) {
+            return false;
+        }
+
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9') || c == '-' || c == '.';
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isDomainChar(c) || c == '+' || c == '_';
+    }
+}
@@ -9,7 +9,7 @@ import java.lang.annotation.*;
 @Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface ValidFileType {
-    String message() default "Invalid file type. Supported types: csv, json, xml";
+    String message() default "Invalid file type. Supported types: csv, json, ndjson, xml, parquet";
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
 }
@@ -0,0 +1,42 @@
+package com.userprocessor.validation;
+
+public enum ValidationCode {
+    VALID("valid", null),
+    NAME_REQUIRED("name_required", "Name is required"),
+    EMAIL_REQUIRED("email_required", "Email is required"),
+    EMAIL_INVALID("email_invalid", "Invalid email format"),
+    NAME_TOO_LONG("name_too_long", "Name exceeds 255 characters"),
+    EMAIL_TOO_LONG("email_too_long", "Email exceeds 255 characters");
+
+    private final String code;
+    private final String message;
+
+    ValidationCode(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    public String describe(int lineNumber, CharSequence email) {
+        if (this == EMAIL_INVALID) {
+            return message + " at line " + lineNumber + ": " + email;
+        }
+        return message + " at line " + lineNumber;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,31 @@
+package com.userprocessor.benchmark;
+
+import org.openjdk.jmh.profile.Profiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    @SafeVarargs
+    public static void run(Class<?> benchmark, Class<? extends Profiler>... profilers) throws RunnerException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+            .include(benchmark.getName() + "\\.")
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .jvmArgsAppend("--add-modules", "jdk.incubator.vector")
+            .shouldFailOnError(true);
+        for (Class<? extends Profiler> profiler : profilers) {
+            builder.addProfiler(profiler);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.userprocessor.benchmark;
+
+import com.opencsv.CSVReader;
+import com.userprocessor.processor.csv.CsvScanner;
+import com.userprocessor.processor.csv.CsvTokenizer;
+import com.userprocessor.processor.csv.ScalarCsvScanner;
+import com.userprocessor.processor.csv.VectorCsvScanner;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvTokenizerBenchmark {
+
+    @Param({"narrow", "wide"})
+    public String shape;
+
+    @Param({"50000"})
+    public int rows;
+
+    private byte[] content;
+    private CsvScanner scalar;
+    private CsvScanner vector;
+
+    @Setup
+    public void setUp() {
+        StringBuilder csv = new StringBuilder("name,email");
+        int extraColumns = "wide".equals(shape) ? 30 : 0;
+        for (int column = 0; column < extraColumns; column++) {
+            csv.append(",attribute_").append(column);
+        }
+        csv.append('\n');
+
+        for (int i = 0; i < rows; i++) {
+            csv.append("User ").append(i).append(",user").append(i).append("@example.com");
+            for (int column = 0; column < extraColumns; column++) {
+                csv.append(column % 5 == 0 ? ",\"quoted, value " : ",value ").append(column)
+                    .append(column % 5 == 0 ? "\"" : "");
+            }
+            csv.append('\n');
+        }
+
+        content = csv.toString().getBytes(StandardCharsets.UTF_8);
+        scalar = new ScalarCsvScanner();
+        vector = new VectorCsvScanner();
+    }
+
+    @Benchmark
+    public long opencsv() throws Exception {
+        long fields = 0;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(content),
+                StandardCharsets.UTF_8))) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                fields += row.length;
+            }
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public long scalarTokenizer() throws Exception {
+        return tokenize(scalar);
+    }
+
+    @Benchmark
+    public long vectorTokenizer() throws Exception {
+        return tokenize(vector);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(CsvTokenizerBenchmark.class);
+    }
+
+    private long tokenize(CsvScanner scanner) throws Exception {
+        long fields = 0;
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteArrayInputStream(content), scanner)) {
+            while (tokenizer.next()) {
+                fields += tokenizer.getFieldCount();
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,108 @@
+package com.userprocessor.benchmark;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.userprocessor.config.ExportConfig;
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.service.OutputFormatterService;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR", "MSGPACK"})
+    public OutputFormat format;
+
+    @Param({"1000000"})
+    public int users;
+
+    private OutputFormatterService outputFormatterService;
+    private ObjectReader reader;
+    private List<UserResponseDto> export;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        outputFormatterService = new OutputFormatterService(TestSerialization.serializationService(), new ExportConfig());
+        reader = TestSerialization.mapper(format).readerFor(UserResponseDto.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        export = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            export.add(new UserResponseDto((long) i, "User " + i, "user" + i + "@example.com", "benchmark", now, now));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out);
+        payload = out.toByteArray();
+        System.out.printf("%n%s payload for %d users: %d bytes%n", format, users, payload.length);
+    }
+
+    @Benchmark
+    public long encode() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        write(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long decode() throws Exception {
+        long count = 0;
+        try (MappingIterator<UserResponseDto> iterator = reader.readValues(payload)) {
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(ExportFormatBenchmark.class);
+    }
+
+    private void write(OutputStream out) throws Exception {
+        try (OutputFormatterService.UserStreamWriter writer = outputFormatterService.openStream(out, format)) {
+            for (UserResponseDto user : export) {
+                writer.write(user);
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.userprocessor.benchmark;
+
+import com.userprocessor.UserProcessorApplication;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IngestPathBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"stream", "mapped"})
+    public String source;
+
+    @Param({"false", "true"})
+    public boolean dryRun;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] content;
+    private Path file;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(UserProcessorApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:ingest-benchmark",
+                "logging.level.root=WARN",
+                "app.processing.parse-parallelism=2",
+                "app.processing.mapped-min-file-size=0")
+            .run();
+        userService = context.getBean(UserService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(" User ").append(i).append(" , user").append(i).append("@example.com\n");
+        }
+        content = csv.toString().getBytes(StandardCharsets.UTF_8);
+        file = Files.createTempFile("ingest-benchmark", ".csv");
+        Files.write(file, content);
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        jdbcTemplate.execute("TRUNCATE TABLE users");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int ingest() throws Exception {
+        IngestOptions options = new IngestOptions(ResponseMode.SUMMARY, ValidationMode.STRICT);
+        if (dryRun) {
+            options = options.asDryRun(0);
+        }
+        ProcessingResult result = "mapped".equals(source)
+            ? userService.processStagedFile(file, "csv", options)
+            : userService.processUploadStream(new ByteArrayInputStream(content), "csv", CompressionType.NONE, options);
+        return result.getProcessedRecords();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(IngestPathBenchmark.class, GCProfiler.class);
+    }
+}
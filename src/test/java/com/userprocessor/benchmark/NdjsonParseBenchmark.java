@@ -0,0 +1,68 @@
+package com.userprocessor.benchmark;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.processor.impl.NdjsonFileProcessor;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NdjsonParseBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"200000"})
+    public int lines;
+
+    private NdjsonFileProcessor processor;
+    private byte[] content;
+
+    @Setup
+    public void setUp() {
+        ProcessingConfig config = new ProcessingConfig();
+        config.setParseParallelism(parallelism);
+        processor = new NdjsonFileProcessor(TestSerialization.serializationService(), config);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < lines; i++) {
+            out.writeBytes(("{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\"}\n")
+                .getBytes(StandardCharsets.UTF_8));
+        }
+        content = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.shutdown();
+    }
+
+    @Benchmark
+    public long parse() throws Exception {
+        long[] count = {0};
+        processor.processStream(new ByteArrayInputStream(content), (user, lineNumber, line) -> count[0]++);
+        return count[0];
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(NdjsonParseBenchmark.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.userprocessor.benchmark;
+
+import com.opencsv.CSVReader;
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.processor.UserRecord;
+import com.userprocessor.processor.csv.CsvTokenizer;
+import com.userprocessor.processor.csv.ScalarCsvScanner;
+import com.userprocessor.validation.UserRecordValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecordPipelineBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private byte[] content;
+    private UserRecordValidator validator;
+
+    @Setup
+    public void setUp() {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(" User ").append(i).append(" , user").append(i).append("@example.com\n");
+        }
+        content = csv.toString().getBytes(StandardCharsets.UTF_8);
+        validator = new UserRecordValidator(new ProcessingConfig());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int opencsvUserDto() throws Exception {
+        int valid = 0;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(content),
+                StandardCharsets.UTF_8))) {
+            reader.readNext();
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                UserDto userDto = new UserDto(row[0].trim(), row[1].trim());
+                valid += validator.validate(userDto).isValid() ? 1 : 0;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int tokenizerFlyweight() throws Exception {
+        int valid = 0;
+        UserRecord record = new UserRecord();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new ByteArrayInputStream(content), new ScalarCsvScanner())) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                byte[] bytes = tokenizer.getRecordBytes();
+                record.setName(bytes, tokenizer.getFieldStart(0), tokenizer.getFieldEnd(0));
+                record.setEmail(bytes, tokenizer.getFieldStart(1), tokenizer.getFieldEnd(1));
+                valid += validator.validate(record.getName(), record.getEmail()).isValid() ? 1 : 0;
+            }
+        }
+        return valid;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(RecordPipelineBenchmark.class, GCProfiler.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.userprocessor.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.service.SerializationService;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10000"})
+    public int users;
+
+    private ObjectMapper plainMapper;
+    private ObjectWriter listWriter;
+    private ObjectReader nodeReader;
+    private List<UserResponseDto> page;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        plainMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SerializationService serializationService = TestSerialization.serializationService();
+        listWriter = serializationService.writerForListOf(UserResponseDto.class);
+        nodeReader = serializationService.readerFor(JsonNode.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            page.add(new UserResponseDto((long) i, "User " + i, "user" + i + "@example.com", "benchmark", now, now));
+        }
+        json = listWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePrivateMapper() throws Exception {
+        return plainMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeCachedWriter() throws Exception {
+        return listWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode readPrivateMapper() throws Exception {
+        return plainMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode readCachedReader() throws Exception {
+        return nodeReader.readTree(json);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(SerializationBenchmark.class);
+    }
+}
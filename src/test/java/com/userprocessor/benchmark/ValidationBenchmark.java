@@ -0,0 +1,87 @@
+package com.userprocessor.benchmark;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.validation.UserRecordValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private final String[] names = new String[ROWS];
+    private final String[] emails = new String[ROWS];
+    private UserRecordValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new UserRecordValidator(new ProcessingConfig());
+        for (int i = 0; i < ROWS; i++) {
+            names[i] = "User " + i;
+            emails[i] = i % 10 == 0 ? "user" + i + "@invalid" : "user" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int regexWithExceptions() {
+        int valid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                validateWithRegex(names[i], emails[i], i + 1);
+                valid++;
+            } catch (FileProcessingException e) {
+                valid--;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int recordValidator() {
+        int valid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            valid += validator.validate(names[i], emails[i]).isValid() ? 1 : -1;
+        }
+        return valid;
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        Benchmarks.run(ValidationBenchmark.class);
+    }
+
+    private static void validateWithRegex(String name, String email, int lineNumber) throws FileProcessingException {
+        if (name == null || name.trim().isEmpty()) {
+            throw new FileProcessingException("Name is required at line " + lineNumber);
+        }
+        if (email == null || email.trim().isEmpty()) {
+            throw new FileProcessingException("Email is required at line " + lineNumber);
+        }
+        if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+            throw new FileProcessingException("Invalid email format at line " + lineNumber + ": " + email);
+        }
+        if (name.length() > 255) {
+            throw new FileProcessingException("Name exceeds 255 characters at line " + lineNumber);
+        }
+        if (email.length() > 255) {
+            throw new FileProcessingException("Email exceeds 255 characters at line " + lineNumber);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.userprocessor.controller;
+
+import com.userprocessor.dto.UploadSession;
+import com.userprocessor.service.ChunkedUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UploadControllerTest {
+
+    private static final String ID = "5b0d3c43-8a8f-4c7e-9d59-1f1e0f3b2a11";
+
+    private ChunkedUploadService chunkedUploadService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        chunkedUploadService = mock(ChunkedUploadService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new UploadController(chunkedUploadService)).build();
+
+        UploadSession session = new UploadSession(ID, "csv", "users.csv", 100, Path.of("unused.part"));
+        when(chunkedUploadService.getSession(ID)).thenReturn(Optional.of(session));
+    }
+
+    @Test
+    void rejectsChunkWhoseTotalDoesNotMatchTheSession() throws Exception {
+        mockMvc.perform(put("/api/uploads/" + ID)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes 0-9/200")
+                .contentType("application/octet-stream")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(new byte[10]))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Content-Range total does not match the upload session"));
+
+        verify(chunkedUploadService, never()).appendChunk(anyString(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void acceptsMatchingOrUnknownTotal() throws Exception {
+        UploadSession updated = new UploadSession(ID, "csv", "users.csv", 100, Path.of("unused.part"));
+        updated.addChunk(new UploadSession.ChunkInfo(0, 10, "00000000"));
+        when(chunkedUploadService.appendChunk(anyString(), anyLong(), anyLong(), any(), any())).thenReturn(updated);
+
+        for (String range : new String[]{"bytes 0-9/100", "bytes 0-9/*"}) {
+            mockMvc.perform(put("/api/uploads/" + ID)
+                    .header(HttpHeaders.CONTENT_RANGE, range)
+                    .contentType("application/octet-stream")
+                    .accept(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                    .content(new byte[10]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.receivedBytes").value(10));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.userprocessor.controller;
+
+import com.userprocessor.config.ExportConfig;
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.exception.GlobalExceptionHandler;
+import com.userprocessor.exception.StreamAbortedException;
+import com.userprocessor.service.BatchUploadService;
+import com.userprocessor.service.DataVersionService;
+import com.userprocessor.service.FileProcessingService;
+import com.userprocessor.service.OutputFormatterService;
+import com.userprocessor.service.ProcessingDetailsService;
+import com.userprocessor.service.RejectsService;
+import com.userprocessor.service.UserService;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.function.ThrowingConsumer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class UserControllerTest {
+
+    private UserService userService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        UserController controller = new UserController(userService, mock(FileProcessingService.class),
+            new OutputFormatterService(TestSerialization.serializationService(), new ExportConfig()),
+            new DataVersionService(), mock(ProcessingDetailsService.class), mock(BatchUploadService.class),
+            mock(RejectsService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void abortsAStreamedExportThatFailsAfterTheResponseWasCommitted() throws Exception {
+        failExportAfter(500);
+
+        MockHttpServletResponse[] response = new MockHttpServletResponse[1];
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/users").param("format", "csv").param("sort", "name"))
+                .andDo(result -> response[0] = result.getResponse()))
+            .hasRootCauseInstanceOf(IOException.class)
+            .rootCause().hasMessage("connection reset");
+        assertThat(response[0]).isNull();
+    }
+
+    @Test
+    void returnsAJsonErrorWhenTheExportFailsBeforeAnythingWasSent() throws Exception {
+        failExportAfter(2);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/users").param("format", "csv").param("sort", "name")
+                .accept(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isNull();
+        assertThat(response.getContentAsString())
+            .startsWith("{")
+            .contains("\"success\":false", "connection reset")
+            .doesNotContain("user0@example.com");
+    }
+
+    @Test
+    void streamAbortedExceptionIsNotTurnedIntoAResponse() {
+        StreamAbortedException exception = new StreamAbortedException("aborted", new IOException("connection reset"));
+
+        assertThatThrownBy(() -> new GlobalExceptionHandler().handleStreamAbortedException(exception))
+            .isSameAs(exception);
+    }
+
+    private void failExportAfter(int users) throws Exception {
+        doAnswer(invocation -> {
+            ThrowingConsumer<UserResponseDto> consumer = invocation.getArgument(1);
+            for (int i = 0; i < users; i++) {
+                consumer.accept(new UserResponseDto((long) i, "User " + i, "user" + i + "@example.com", "csv",
+                    LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0)));
+            }
+            throw new IOException("connection reset");
+        }).when(userService).forEachUser(any(), any());
+    }
+}
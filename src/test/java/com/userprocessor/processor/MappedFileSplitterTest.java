@@ -0,0 +1,68 @@
+package com.userprocessor.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileSplitterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rangesEndAtLineBreaksAndCoverTheWholeFile() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        Path file = write(content.toString());
+
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        int ranges = 0;
+        try (MappedFileSplitter splitter = new MappedFileSplitter(file, 100, 1000)) {
+            MappedFileSplitter.Range range;
+            while ((range = splitter.next()) != null) {
+                byte[] bytes = range.toByteArray();
+                assertThat(range.getStart()).isEqualTo(joined.size());
+                assertThat(bytes[bytes.length - 1]).isEqualTo((byte) '\n');
+                joined.writeBytes(bytes);
+                ranges++;
+            }
+            assertThat(splitter.hasRemaining()).isFalse();
+        }
+
+        assertThat(ranges).isGreaterThan(50);
+        assertThat(joined.toString(StandardCharsets.UTF_8)).isEqualTo(content.toString());
+    }
+
+    @Test
+    void stopsSplittingWhenNoLineBreakFitsInTheBoundedWindow() throws Exception {
+        StringBuilder content = new StringBuilder("header\nfirst\n");
+        for (int i = 0; i < 10_000; i++) {
+            content.append("row ").append(i).append('\r');
+        }
+        Path file = write(content.toString());
+
+        try (MappedFileSplitter splitter = new MappedFileSplitter(file, 64, 256)) {
+            MappedFileSplitter.Range first = splitter.next();
+
+            assertThat(new String(first.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("header\nfirst\n");
+            assertThat(splitter.next()).isNull();
+            assertThat(splitter.next()).isNull();
+            assertThat(splitter.hasRemaining()).isTrue();
+            assertThat(splitter.position()).isEqualTo(13);
+        }
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = directory.resolve("data.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,67 @@
+package com.userprocessor.processor;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.validation.UserRecordValidator;
+import com.userprocessor.validation.ValidationCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRecordTest {
+
+    @Test
+    void fieldsAreTrimmedViewsOverTheRecordBytes() {
+        byte[] bytes = bytes("  Ana  ,\tana@example.com ");
+        UserRecord record = new UserRecord();
+
+        record.setName(bytes, 0, 7);
+        record.setEmail(bytes, 8, bytes.length);
+
+        assertThat(record.getName().length()).isEqualTo(3);
+        assertThat(record.getName().charAt(2)).isEqualTo('a');
+        assertThat(record.getEmail().toString()).isEqualTo("ana@example.com");
+        assertThat(record.getEmail().subSequence(4, 11).toString()).isEqualTo("example");
+        assertThat(record.isEmpty()).isFalse();
+    }
+
+    @Test
+    void multibyteFieldsAreDecodedAndTheRecordIsReusable() {
+        UserRecord record = new UserRecord();
+        byte[] first = bytes(" João Conceição ");
+        record.setName(first, 0, first.length);
+        assertThat(record.getName().toString()).isEqualTo("João Conceição");
+
+        byte[] longer = bytes("Иван " + "x".repeat(200));
+        record.setName(longer, 0, longer.length);
+        assertThat(record.getName().toString()).isEqualTo("Иван " + "x".repeat(200));
+
+        byte[] blank = bytes("   ");
+        record.setName(blank, 0, blank.length);
+        record.setEmail(blank, 0, blank.length);
+        assertThat(record.isEmpty()).isTrue();
+
+        record.set(" Zoë ", null);
+        assertThat(record.toUserDto().getName()).isEqualTo("Zoë");
+        assertThat(record.toUserDto().getEmail()).isEmpty();
+    }
+
+    @Test
+    void validatorReadsTheViewsWithoutMaterializingStrings() {
+        UserRecordValidator validator = new UserRecordValidator(new ProcessingConfig());
+        UserRecord record = new UserRecord();
+        byte[] bytes = bytes("Zoë,zoe@example.com,zoe@example");
+
+        record.setName(bytes, 0, 4);
+        record.setEmail(bytes, 5, 20);
+        assertThat(validator.validate(record.getName(), record.getEmail())).isEqualTo(ValidationCode.VALID);
+
+        record.setEmail(bytes, 21, bytes.length);
+        assertThat(validator.validate(record.getName(), record.getEmail())).isEqualTo(ValidationCode.EMAIL_INVALID);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,160 @@
+package com.userprocessor.processor.csv;
+
+import com.opencsv.CSVReader;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class CsvTokenizerTest {
+
+    private static final String[] PIECES = {"a", "b", "é", "Ж", " ", ",", "\"", "\"\"", "\\", "\\\"", "\n", "\r\n", "\r"};
+    private static final String[] PLAIN = {"a", "b", "z", "é", "Ж", "李", " ", "-", "@", "."};
+
+    static Stream<CsvScanner> scanners() {
+        return Stream.of(new ScalarCsvScanner(), new VectorCsvScanner());
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void scannersFindTheSameSpecialBytes(CsvScanner scanner) {
+        Random random = new Random(11);
+        ScalarCsvScanner reference = new ScalarCsvScanner();
+
+        for (int round = 0; round < 20_000; round++) {
+            byte[] buffer = new byte[random.nextInt(130)];
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = random.nextInt(8) == 0 ? (byte) ",\"\\\r\n".charAt(random.nextInt(5))
+                    : (byte) (random.nextInt(256) - 128);
+            }
+            int from = buffer.length == 0 ? 0 : random.nextInt(buffer.length);
+            int to = from + random.nextInt(buffer.length - from + 1);
+
+            assertThat(scanner.indexOfSpecial(buffer, from, to)).isEqualTo(reference.indexOfSpecial(buffer, from, to));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void quotesAcrossVectorLanesMatchOpencsv(CsvScanner scanner) throws Exception {
+        for (int offset = 24; offset <= 72; offset++) {
+            String padding = "x".repeat(offset);
+            assertMatchesOpencsv(scanner, padding + ",\"quoted, with comma\",tail\n", 4096);
+            assertMatchesOpencsv(scanner, padding + ",\"multi\r\nline \"\"field\"\"\",tail\r\nnext,row\r\n", 4096);
+            assertMatchesOpencsv(scanner, "\"" + padding + "\"\"" + padding + "\",\"" + padding + "\r\n\"\n", 4096);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void randomWellFormedCsvMatchesOpencsv(CsvScanner scanner) throws Exception {
+        Random random = new Random(2024);
+        for (int round = 0; round < 3000; round++) {
+            assertMatchesOpencsv(scanner, wellFormedCsv(random), 1 + random.nextInt(96));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("scanners")
+    void randomRawCsvMatchesOpencsv(CsvScanner scanner) throws Exception {
+        Random random = new Random(77);
+        for (int round = 0; round < 3000; round++) {
+            StringBuilder csv = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--) {
+                csv.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            assertMatchesOpencsv(scanner, csv.toString(), 1 + random.nextInt(96));
+        }
+    }
+
+    private static String wellFormedCsv(Random random) {
+        StringBuilder csv = new StringBuilder();
+        int columns = 1 + random.nextInt(5);
+        for (int row = random.nextInt(8); row >= 0; row--) {
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    csv.append(',');
+                }
+                csv.append(random.nextBoolean() ? quoted(random) : plain(random));
+            }
+            csv.append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        return csv.toString();
+    }
+
+    private static String plain(Random random) {
+        StringBuilder field = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            field.append(PLAIN[random.nextInt(PLAIN.length)]);
+        }
+        return field.toString().strip();
+    }
+
+    private static String quoted(Random random) {
+        StringBuilder field = new StringBuilder("\"");
+        for (int i = random.nextInt(70); i > 0; i--) {
+            switch (random.nextInt(12)) {
+                case 0:
+                    field.append("\"\"");
+                    break;
+                case 1:
+                    field.append(',');
+                    break;
+                case 2:
+                    field.append("\r\n");
+                    break;
+                case 3:
+                    field.append('\n');
+                    break;
+                default:
+                    field.append(PLAIN[random.nextInt(PLAIN.length)]);
+            }
+        }
+        return field.append('"').toString();
+    }
+
+    private static void assertMatchesOpencsv(CsvScanner scanner, String csv, int bufferSize) throws Exception {
+        List<String[]> expected = new ArrayList<>();
+        IOException expectedFailure = null;
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                expected.add(row);
+            }
+        } catch (IOException e) {
+            expectedFailure = e;
+        }
+
+        List<String[]> actual = new ArrayList<>();
+        IOException actualFailure = null;
+        try (CsvTokenizer tokenizer = new CsvTokenizer(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), scanner, bufferSize)) {
+            String[] row;
+            while ((row = tokenizer.readNext()) != null) {
+                actual.add(row);
+            }
+        } catch (IOException e) {
+            actualFailure = e;
+        }
+
+        String description = scanner.getName() + " buffer=" + bufferSize + " csv=" + escape(csv);
+        if ((expectedFailure == null) != (actualFailure == null)) {
+            fail("opencsv failure " + expectedFailure + " but tokenizer failure " + actualFailure + " for " + description);
+        }
+        assertThat(actual).as(description).containsExactlyElementsOf(expected);
+    }
+
+    private static String escape(String csv) {
+        return csv.replace("\r", "\\r").replace("\n", "\\n");
+    }
+}
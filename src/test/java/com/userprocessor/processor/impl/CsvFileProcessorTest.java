@@ -0,0 +1,118 @@
+package com.userprocessor.processor.impl;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.processor.UserRecord;
+import com.userprocessor.processor.UserRecordHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvFileProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    private CsvFileProcessor processor;
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) {
+            processor.shutdown();
+        }
+    }
+
+    @Test
+    void mappedRangesProduceTheSameRecordsAsTheStream() throws Exception {
+        processor = newProcessor(256, 1024);
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 1; i <= 400; i++) {
+            csv.append(i % 37 == 0 ? "\"Conceição,\nJoão " : "João ").append(i).append(i % 37 == 0 ? "\"" : "")
+                .append(",user").append(i).append("@example.com\n");
+            if (i % 53 == 0) {
+                csv.append("\"Só \"\"").append(i).append("\"\"\"\n");
+            }
+        }
+
+        Collector mapped = assertMappedMatchesStream(csv.toString(), 400);
+        assertThat(mapped.invalidLines).hasSize(7).contains("Insufficient columns at line 55: \"Só \"\"53\"\"\"");
+        assertThat(mapped.originalLines).contains("\"Conceição,\nJoão 37\",user37@example.com");
+    }
+
+    @Test
+    void carriageReturnOnlyFilesFallBackToSequentialParsing() throws Exception {
+        processor = newProcessor(256, 1024);
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 1; i <= 50; i++) {
+            csv.append("Ана ").append(i).append(",user").append(i).append("@example.com\n");
+        }
+        for (int i = 51; i <= 2000; i++) {
+            csv.append("Иван ").append(i).append(",user").append(i).append("@example.com\r");
+        }
+
+        Collector mapped = assertMappedMatchesStream(csv.toString(), 2000);
+        assertThat(mapped.lineNumbers.get(1999)).isEqualTo(2001);
+        assertThat(mapped.records.get(1999).getName()).isEqualTo("Иван 2000");
+    }
+
+    private Collector assertMappedMatchesStream(String csv, int expectedRecords) throws Exception {
+        Path file = directory.resolve("users.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        Collector streamed = new Collector();
+        processor.processStream(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), streamed);
+        Collector mapped = new Collector();
+        processor.processPath(file, mapped);
+
+        assertThat(streamed.records).hasSize(expectedRecords);
+        assertThat(mapped.lineNumbers).isEqualTo(streamed.lineNumbers);
+        assertThat(mapped.records).usingRecursiveFieldByFieldElementComparator().isEqualTo(streamed.records);
+        assertThat(mapped.originalLines).isEqualTo(streamed.originalLines);
+        assertThat(mapped.invalidLines).isEqualTo(streamed.invalidLines);
+        return mapped;
+    }
+
+    private static CsvFileProcessor newProcessor(int chunkSize, int maxLineBytes) {
+        ProcessingConfig config = new ProcessingConfig();
+        config.setParseParallelism(4);
+        config.setParseChunkSize(chunkSize);
+        config.setMaxLineBytes(maxLineBytes);
+        config.setMappedMinFileSize(0);
+        return new CsvFileProcessor(config);
+    }
+
+    private static class Collector implements UserRecordHandler {
+
+        private final List<UserDto> records = new ArrayList<>();
+        private final List<Integer> lineNumbers = new ArrayList<>();
+        private final List<String> originalLines = new ArrayList<>();
+        private final List<String> invalidLines = new ArrayList<>();
+
+        @Override
+        public void onRecord(UserDto userDto, int lineNumber, Supplier<String> originalLine) {
+            records.add(userDto);
+            lineNumbers.add(lineNumber);
+            originalLines.add(originalLine.get());
+        }
+
+        @Override
+        public void onInvalidRecord(int lineNumber, String reason, Supplier<String> originalLine) {
+            invalidLines.add(reason + ": " + originalLine.get());
+        }
+
+        @Override
+        public void onRecord(UserRecord record, int lineNumber, Supplier<String> originalLine) {
+            onRecord(record.toUserDto(), lineNumber, originalLine);
+        }
+    }
+}
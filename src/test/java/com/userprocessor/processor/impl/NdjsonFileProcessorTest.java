@@ -0,0 +1,185 @@
+package com.userprocessor.processor.impl;
+
+import com.userprocessor.config.ProcessingConfig;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.processor.UserRecordHandler;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NdjsonFileProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    private NdjsonFileProcessor processor;
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) {
+            processor.shutdown();
+        }
+    }
+
+    @Test
+    void parsesSmallChunksInParallelAndKeepsFileOrderAndLineNumbers() throws Exception {
+        processor = newProcessor(64, 1024);
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 500; i++) {
+            if (i % 50 == 0) {
+                content.append("\r\n");
+            } else {
+                content.append("{\"name\":\"João ").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\"}\r\n");
+            }
+        }
+
+        Collector collector = new Collector();
+        processor.processStream(stream(content.toString()), collector);
+
+        assertThat(collector.records).hasSize(490);
+        assertThat(collector.lineNumbers).isSorted().doesNotContain(50, 100, 500);
+        assertThat(collector.records.get(0).getName()).isEqualTo("João 1");
+        assertThat(collector.records.get(489).getEmail()).isEqualTo("user499@example.com");
+        assertThat(collector.lineNumbers.get(489)).isEqualTo(499);
+    }
+
+    @Test
+    void malformedLinesAreReportedWithTheirLineNumber() throws Exception {
+        processor = newProcessor(32, 1024);
+        String content = "{\"name\":\"Ana\",\"email\":\"ana@example.com\"}\n"
+            + "{\"name\":\"Bruno\",\n"
+            + "[1, 2]\n"
+            + "{\"name\":\"Carla\",\"email\":\"carla@example.com\"}";
+
+        Collector collector = new Collector();
+        processor.processStream(stream(content), collector);
+
+        assertThat(collector.records).extracting(UserDto::getEmail)
+            .containsExactly("ana@example.com", "carla@example.com");
+        assertThat(collector.lineNumbers).containsExactly(1, 4);
+        assertThat(collector.errors).hasSize(2);
+        assertThat(collector.errors.get(0)).startsWith("Invalid JSON at line 2");
+        assertThat(collector.errors.get(1)).isEqualTo("Invalid user object at line 3");
+    }
+
+    @Test
+    void unterminatedLineLongerThanTheLimitFailsWithItsLineNumber() {
+        processor = newProcessor(16, 256);
+        String content = "{\"name\":\"Ana\",\"email\":\"ana@example.com\"}\n"
+            + "{\"name\":\"Bruno\",\"email\":\"bruno@example.com\"}\n"
+            + "{\"name\":\"" + "x".repeat(10_000);
+
+        Collector collector = new Collector();
+
+        assertThatThrownBy(() -> processor.processStream(stream(content), collector))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("NDJSON line 3 exceeds the maximum length of 256 bytes");
+        assertThat(collector.records).hasSize(2);
+    }
+
+    @Test
+    void longLineInsideAChunkFailsTheSameWay() {
+        processor = newProcessor(64 * 1024, 256);
+        String content = "{\"name\":\"Ana\",\"email\":\"ana@example.com\"}\n"
+            + "{\"name\":\"" + "x".repeat(1000) + "\",\"email\":\"long@example.com\"}\n"
+            + "{\"name\":\"Carla\",\"email\":\"carla@example.com\"}\n";
+
+        assertThatThrownBy(() -> processor.processStream(stream(content), new Collector()))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("NDJSON line 2 exceeds the maximum length of 256 bytes");
+    }
+
+    @Test
+    void mappedFilesProduceTheSameRecordsAsStreams() throws Exception {
+        processor = newProcessor(128, 1024);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            if (i % 50 == 7) {
+                content.append("{\"name\":\"Сломан ").append(i).append("\",\n");
+            }
+            content.append("{\"name\":\"Иван ").append(i).append("\",\"email\":\"user").append(i)
+                .append("@example.com\"}\n");
+        }
+        Path file = directory.resolve("users.ndjson");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        Collector streamed = new Collector();
+        processor.processStream(stream(content.toString()), streamed);
+        Collector mapped = new Collector();
+        processor.processPath(file, mapped);
+
+        assertThat(mapped.lineNumbers).isEqualTo(streamed.lineNumbers);
+        assertThat(mapped.records).extracting(UserDto::getName)
+            .isEqualTo(streamed.records.stream().map(UserDto::getName).toList())
+            .contains("Иван 299");
+        assertThat(mapped.errors).hasSize(6).isEqualTo(streamed.errors);
+        assertThat(mapped.originalLines).isEqualTo(streamed.originalLines).contains("{\"name\":\"Сломан 257\",");
+    }
+
+    @Test
+    void mappedFileWithAnOverlongLineFailsWithItsLineNumber() throws Exception {
+        processor = newProcessor(128, 512);
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            content.append("{\"name\":\"User ").append(i).append("\",\"email\":\"user").append(i)
+                .append("@example.com\"}\n");
+        }
+        content.append("{\"name\":\"").append("x".repeat(5000)).append("\"}\r{\"name\":\"after\"}\r");
+        Path file = directory.resolve("long.ndjson");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        Collector collector = new Collector();
+
+        assertThatThrownBy(() -> processor.processPath(file, collector))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("NDJSON line 21 exceeds the maximum length of 512 bytes");
+        assertThat(collector.records).hasSize(20);
+    }
+
+    static NdjsonFileProcessor newProcessor(int chunkSize, int maxLineBytes) {
+        ProcessingConfig config = new ProcessingConfig();
+        config.setParseParallelism(4);
+        config.setParseChunkSize(chunkSize);
+        config.setMaxLineBytes(maxLineBytes);
+        config.setMappedMinFileSize(0);
+        return new NdjsonFileProcessor(TestSerialization.serializationService(), config);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class Collector implements UserRecordHandler {
+
+        private final List<UserDto> records = new ArrayList<>();
+        private final List<Integer> lineNumbers = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private final List<String> originalLines = new ArrayList<>();
+
+        @Override
+        public void onRecord(UserDto userDto, int lineNumber, Supplier<String> originalLine) {
+            records.add(userDto);
+            lineNumbers.add(lineNumber);
+        }
+
+        @Override
+        public void onInvalidRecord(int lineNumber, String reason, Supplier<String> originalLine) {
+            errors.add(reason);
+            originalLines.add(originalLine.get());
+        }
+    }
+}
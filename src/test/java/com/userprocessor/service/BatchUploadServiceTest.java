@@ -0,0 +1,187 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.BatchProcessingResult;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.processing.batch-parallelism=2",
+    "app.processing.insert-batch-size=10",
+    "app.processing.adaptive-batch-size=false"
+})
+class BatchUploadServiceTest {
+
+    private static final int SHARED = 200;
+    private static final int OWN = 20;
+    private static final Map<String, CountDownLatch> RESERVED = new ConcurrentHashMap<>();
+
+    @Autowired
+    private BatchUploadService batchUploadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        RESERVED.clear();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void requeuesRowsSkippedForAFileThatRolledBack() throws Exception {
+        CountDownLatch failingClaimed = awaitReservation(SHARED - 1);
+        CountDownLatch validDeduped = awaitReservation(SHARED + OWN - 1);
+
+        MultipartFile failing = new GatedFile("failing.csv", csv(0, SHARED), "Broken,not-an-email\n", validDeduped);
+        MultipartFile valid = new GatedFile("valid.csv", "", csv(0, SHARED + OWN), failingClaimed);
+
+        BatchProcessingResult result = batchUploadService.processBatch(List.of(failing, valid), null,
+            new IngestOptions(ResponseMode.FULL, ValidationMode.STRICT));
+
+        assertThat(result.getFiles().get(0).isSuccess()).isFalse();
+        ProcessingResult validResult = result.getFiles().get(1).getResult();
+        assertThat(validResult.getRequeuedRecords()).isEqualTo(SHARED);
+        assertThat(validResult.getProcessedRecords()).isEqualTo(SHARED + OWN);
+        assertThat(validResult.getSkippedRecords()).isZero();
+        assertThat(validResult.getWarnings()).isEmpty();
+        assertThat(validResult.getProcessedUsers()).hasSize(SHARED + OWN);
+        assertThat(result.getProcessedRecords()).isEqualTo(SHARED + OWN);
+        assertThat(userRepository.count()).isEqualTo(SHARED + OWN);
+        for (int i = 0; i < SHARED + OWN; i++) {
+            assertThat(userRepository.existsByEmail(email(i))).isTrue();
+        }
+    }
+
+    @Test
+    void keepsRowsSkippedForAFileThatCommitted() throws Exception {
+        CountDownLatch firstClaimed = awaitReservation(SHARED - 1);
+
+        MultipartFile first = new GatedFile("first.csv", csv(0, SHARED), "", new CountDownLatch(0));
+        MultipartFile second = new GatedFile("second.csv", "", csv(0, SHARED + OWN), firstClaimed);
+
+        BatchProcessingResult result = batchUploadService.processBatch(List.of(first, second), null,
+            new IngestOptions(ResponseMode.SUMMARY, ValidationMode.STRICT));
+
+        assertThat(result.getSucceededFiles()).isEqualTo(2);
+        assertThat(result.getFiles().get(1).getResult().getRequeuedRecords()).isNull();
+        assertThat(result.getProcessedRecords()).isEqualTo(SHARED + OWN);
+        assertThat(result.getSkippedRecords()).isEqualTo(SHARED);
+        assertThat(userRepository.count()).isEqualTo(SHARED + OWN);
+    }
+
+    private static CountDownLatch awaitReservation(int row) {
+        CountDownLatch latch = new CountDownLatch(1);
+        RESERVED.put(email(row), latch);
+        return latch;
+    }
+
+    private static String email(int row) {
+        return "user" + row + "@example.com";
+    }
+
+    private static String csv(int from, int to) {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = from; i < to; i++) {
+            csv.append("User ").append(i).append(',').append(email(i)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static class GatedFile extends MockMultipartFile {
+
+        private final byte[] head;
+        private final byte[] tail;
+        private final CountDownLatch gate;
+
+        GatedFile(String name, String head, String tail, CountDownLatch gate) {
+            super("files", name, "text/csv", (head + tail).getBytes(StandardCharsets.UTF_8));
+            this.head = head.getBytes(StandardCharsets.UTF_8);
+            this.tail = tail.getBytes(StandardCharsets.UTF_8);
+            this.gate = gate;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new SequenceInputStream(new ByteArrayInputStream(head), new InputStream() {
+                private InputStream delegate;
+
+                @Override
+                public int read() throws IOException {
+                    return open().read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return open().read(buffer, offset, length);
+                }
+
+                private InputStream open() throws IOException {
+                    if (delegate == null) {
+                        try {
+                            if (!gate.await(30, TimeUnit.SECONDS)) {
+                                throw new IOException("Timed out waiting for the other file");
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(e);
+                        }
+                        delegate = new ByteArrayInputStream(tail);
+                    }
+                    return delegate;
+                }
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class ReservationSignalConfig {
+
+        @Bean
+        static BeanPostProcessor signallingReservationPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof EmailReservationService)) {
+                        return bean;
+                    }
+                    return new EmailReservationService() {
+                        @Override
+                        public Object reserve(Object owner, String email) {
+                            Object holder = super.reserve(owner, email);
+                            CountDownLatch latch = RESERVED.get(email);
+                            if (latch != null) {
+                                latch.countDown();
+                            }
+                            return holder;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
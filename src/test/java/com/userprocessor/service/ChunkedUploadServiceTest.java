@@ -0,0 +1,140 @@
+package com.userprocessor.service;
+
+import com.userprocessor.config.UploadConfig;
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.UploadSession;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+    private static final byte[] CONTENT = "name,email\nAna,ana@example.com\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path storage;
+
+    private UploadConfig uploadConfig;
+    private FileProcessingService fileProcessingService;
+    private SerializationService serializationService;
+
+    @BeforeEach
+    void setUp() {
+        uploadConfig = new UploadConfig();
+        uploadConfig.setStorageDir(storage.toString());
+        fileProcessingService = mock(FileProcessingService.class);
+        serializationService = TestSerialization.serializationService();
+    }
+
+    @Test
+    void sessionSurvivesRestartAndResumesFromReceivedOffset() throws Exception {
+        ChunkedUploadService service = newService();
+        UploadSession session = service.createSession("csv", "users.csv", CONTENT.length);
+        service.appendChunk(session.getId(), 0, 10, chunk(0, 10), null);
+
+        ChunkedUploadService restarted = newService();
+
+        UploadSession restored = restarted.getSession(session.getId()).orElseThrow();
+        assertThat(restored.getReceivedBytes()).isEqualTo(10);
+        assertThat(restored.getChunks()).hasSize(1);
+        assertThat(restored.getFileType()).isEqualTo("csv");
+
+        restarted.appendChunk(session.getId(), 10, CONTENT.length - 10, chunk(10, CONTENT.length), null);
+        assertThat(Files.readAllBytes(restored.getPath())).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void restartTruncatesBytesWrittenAfterTheLastRecordedChunk() throws Exception {
+        ChunkedUploadService service = newService();
+        UploadSession session = service.createSession("csv", "users.csv", CONTENT.length);
+        service.appendChunk(session.getId(), 0, 10, chunk(0, 10), null);
+        Files.write(session.getPath(), CONTENT);
+
+        UploadSession restored = newService().getSession(session.getId()).orElseThrow();
+
+        assertThat(restored.getReceivedBytes()).isEqualTo(10);
+        assertThat(Files.size(restored.getPath())).isEqualTo(10);
+    }
+
+    @Test
+    void expiredSessionsAndOrphanedPartFilesAreSwept() throws Exception {
+        ChunkedUploadService service = newService();
+        UploadSession session = service.createSession("csv", "users.csv", CONTENT.length);
+        session.setUpdatedAt(LocalDateTime.now().minusHours(25));
+
+        Path orphan = Files.createFile(storage.resolve("00000000-0000-0000-0000-000000000000.part"));
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+
+        service.createSession("csv", "other.csv", CONTENT.length);
+
+        assertThat(service.getSession(session.getId())).isEmpty();
+        assertThat(session.getPath()).doesNotExist();
+        assertThat(storage.resolve(session.getId() + ".session.json")).doesNotExist();
+        assertThat(orphan).doesNotExist();
+    }
+
+    @Test
+    void failedCompletionKeepsTheUploadForARetry() throws Exception {
+        ChunkedUploadService service = newService();
+        UploadSession session = service.createSession("csv", "users.csv", CONTENT.length);
+        service.appendChunk(session.getId(), 0, CONTENT.length, chunk(0, CONTENT.length), null);
+
+        ProcessingResult processed = new ProcessingResult();
+        when(fileProcessingService.processPath(eq(session.getPath()), eq("csv"), any()))
+            .thenThrow(new TransientDataAccessResourceException("connection reset"))
+            .thenReturn(processed);
+
+        IngestOptions options = IngestOptions.of(ResponseMode.FULL);
+        assertThatThrownBy(() -> service.complete(session.getId(), options))
+            .isInstanceOf(TransientDataAccessResourceException.class);
+        assertThat(service.getSession(session.getId())).isPresent();
+        assertThat(session.getPath()).exists();
+
+        assertThat(service.complete(session.getId(), options)).isSameAs(processed);
+        assertThat(service.getSession(session.getId())).isEmpty();
+        assertThat(session.getPath()).doesNotExist();
+        assertThat(storage.resolve(session.getId() + ".session.json")).doesNotExist();
+    }
+
+    @Test
+    void incompleteUploadCannotBeCompleted() throws Exception {
+        ChunkedUploadService service = newService();
+        UploadSession session = service.createSession("csv", "users.csv", CONTENT.length);
+
+        assertThatThrownBy(() -> service.complete(session.getId(), IngestOptions.of(ResponseMode.FULL)))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("incomplete");
+    }
+
+    private ChunkedUploadService newService() {
+        ChunkedUploadService service = new ChunkedUploadService(uploadConfig, fileProcessingService,
+            serializationService);
+        service.restoreSessions();
+        return service;
+    }
+
+    private static ByteArrayInputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(CONTENT, from, to - from);
+    }
+}
@@ -0,0 +1,62 @@
+package com.userprocessor.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rolledBackWritesKeepTheVersion() {
+        String etag = dataVersionService.getETag();
+        long lastModified = dataVersionService.getLastModified();
+
+        TransactionSynchronizationManager.initSynchronization();
+        dataVersionService.markChanged();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(dataVersionService.getETag()).isEqualTo(etag);
+        assertThat(dataVersionService.getLastModified()).isEqualTo(lastModified);
+    }
+
+    @Test
+    void committedWritesBumpTheVersion() {
+        String etag = dataVersionService.getETag();
+
+        TransactionSynchronizationManager.initSynchronization();
+        dataVersionService.markChanged();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(dataVersionService.getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void everyWriteMovesLastModifiedToALaterWholeSecond() {
+        long previous = dataVersionService.getLastModified();
+        for (int i = 0; i < 5; i++) {
+            dataVersionService.markChanged();
+            long lastModified = dataVersionService.getLastModified();
+
+            assertThat(lastModified % 1000).isZero();
+            assertThat(lastModified / 1000).isGreaterThan(previous / 1000);
+            previous = lastModified;
+        }
+    }
+}
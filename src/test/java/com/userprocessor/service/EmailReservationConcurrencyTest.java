@@ -0,0 +1,110 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.processing.insert-batch-size=25",
+    "app.processing.adaptive-batch-size=false"
+})
+class EmailReservationConcurrencyTest {
+
+    private static final int UPLOADS = 8;
+    private static final int SHARED_EMAILS = 300;
+    private static final int OWN_EMAILS = 50;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailReservationService emailReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void parallelUploadsSharingEmailsStoreEachEmailOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(UPLOADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ProcessingResult>> futures = new ArrayList<>();
+
+        try {
+            for (int upload = 0; upload < UPLOADS; upload++) {
+                String csv = csv(upload);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.processUploadStream(
+                        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv", CompressionType.NONE,
+                        new IngestOptions(ResponseMode.FULL, ValidationMode.STRICT));
+                }));
+            }
+            start.countDown();
+
+            int processed = 0;
+            int skipped = 0;
+            for (Future<ProcessingResult> future : futures) {
+                ProcessingResult result = future.get(2, TimeUnit.MINUTES);
+                assertThat(result.getTotalRecords()).isEqualTo(SHARED_EMAILS + OWN_EMAILS);
+                assertThat(result.getProcessedRecords() + result.getSkippedRecords()).isEqualTo(result.getTotalRecords());
+                assertThat(result.getWarnings()).hasSize(result.getSkippedRecords())
+                    .allMatch(warning -> warning.contains("is being imported by another upload - skipped")
+                        || warning.contains("already exists"));
+                processed += result.getProcessedRecords();
+                skipped += result.getSkippedRecords();
+            }
+
+            int distinct = SHARED_EMAILS + UPLOADS * OWN_EMAILS;
+            assertThat(processed).isEqualTo(distinct);
+            assertThat(skipped).isEqualTo((UPLOADS - 1) * SHARED_EMAILS);
+            assertThat(userRepository.count()).isEqualTo(distinct);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT email) FROM users", Long.class))
+                .isEqualTo(distinct);
+            assertThat(emailReservationService.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String csv(int upload) {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < SHARED_EMAILS; i++) {
+            rows.add("Shared " + i + ",shared" + i + "@example.com");
+        }
+        for (int i = 0; i < OWN_EMAILS; i++) {
+            rows.add("Upload " + upload + " User " + i + ",upload" + upload + "-user" + i + "@example.com");
+        }
+        Collections.shuffle(rows, new Random(upload));
+        return "name,email\n" + String.join("\n", rows) + "\n";
+    }
+}
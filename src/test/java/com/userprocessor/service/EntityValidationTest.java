@@ -0,0 +1,58 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.entity.AppUser;
+import com.userprocessor.entity.User;
+import com.userprocessor.repository.AppUserRepository;
+import com.userprocessor.repository.UserRepository;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "app.processing.allow-empty-fields=true",
+    "app.processing.validate-email-format=false"
+})
+class EntityValidationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void userRowsFollowTheConfiguredRecordValidation() {
+        User user = userService.createUser(new UserDto("", "no-domain"));
+
+        assertThat(user.getId()).isNotNull();
+        assertThat(user.getName()).isEmpty();
+        assertThat(user.getSource()).isEqualTo("manual");
+        assertThat(user.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void otherEntitiesAreStillBeanValidatedOnPersist() {
+        AppUser appUser = new AppUser();
+        appUser.setUsername("ab");
+        appUser.setEmail("not-an-email");
+        appUser.setPassword("short");
+
+        assertThatThrownBy(() -> appUserRepository.saveAndFlush(appUser))
+            .isInstanceOf(ConstraintViolationException.class);
+        assertThat(appUserRepository.count()).isZero();
+    }
+}
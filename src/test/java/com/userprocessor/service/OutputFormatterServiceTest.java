@@ -0,0 +1,75 @@
+package com.userprocessor.service;
+
+import com.userprocessor.config.ExportConfig;
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputFormatterServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+    private final OutputFormatterService outputFormatterService =
+        new OutputFormatterService(TestSerialization.serializationService(), new ExportConfig());
+
+    @Test
+    void formatParameterTakesPrecedenceOverAcceptHeader() {
+        assertThat(outputFormatterService.resolveFormat("cbor", "application/x-msgpack")).isEqualTo(OutputFormat.CBOR);
+    }
+
+    @Test
+    void acceptHeaderIsNegotiatedByQuality() {
+        assertThat(outputFormatterService.resolveFormat(null, "application/json;q=0.5, application/x-jackson-smile"))
+            .isEqualTo(OutputFormat.SMILE);
+        assertThat(outputFormatterService.resolveFormat(null, "application/x-msgpack;q=0.9, application/cbor;q=0.2"))
+            .isEqualTo(OutputFormat.MSGPACK);
+        assertThat(outputFormatterService.resolveFormat(null, "text/html, */*")).isEqualTo(OutputFormat.JSON);
+        assertThat(outputFormatterService.resolveFormat(null, null)).isEqualTo(OutputFormat.JSON);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OutputFormat.class, names = {"SMILE", "CBOR", "MSGPACK"})
+    void binaryFormatsAreStreamedAndRoundTrip(OutputFormat format) throws Exception {
+        List<UserResponseDto> users = users(500);
+        assertThat(outputFormatterService.isStreamable(format)).isTrue();
+
+        byte[] binary = export(format, users);
+        byte[] json = export(OutputFormat.JSON, users);
+
+        UserResponseDto[] read = TestSerialization.mapper(format).readValue(binary, UserResponseDto[].class);
+        assertThat(read).hasSize(users.size());
+        assertThat(read[42].getEmail()).isEqualTo("user42@example.com");
+        assertThat(read[42].getName()).isEqualTo("João Conceição 42");
+        assertThat(read[42].getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(binary.length).isLessThan(json.length);
+    }
+
+    private byte[] export(OutputFormat format, List<UserResponseDto> users) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputFormatterService.UserStreamWriter writer = outputFormatterService.openStream(out, format)) {
+            for (UserResponseDto user : users) {
+                writer.write(user);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<UserResponseDto> users(int count) {
+        List<UserResponseDto> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new UserResponseDto((long) i, "João Conceição " + i, "user" + i + "@example.com", "export",
+                CREATED_AT, CREATED_AT));
+        }
+        return users;
+    }
+}
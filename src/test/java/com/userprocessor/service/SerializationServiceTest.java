@@ -0,0 +1,73 @@
+package com.userprocessor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.processor.impl.JsonFileProcessor;
+import com.userprocessor.support.TestSerialization;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializationServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+    private final SerializationService serializationService = TestSerialization.serializationService();
+
+    @Test
+    void readersAndWritersAreBuiltOncePerType() {
+        assertThat(serializationService.readerFor(JsonNode.class))
+            .isSameAs(serializationService.readerFor(JsonNode.class));
+        assertThat(serializationService.writerFor(UserResponseDto.class))
+            .isSameAs(serializationService.writerFor(UserResponseDto.class));
+        assertThat(serializationService.writerForListOf(UserResponseDto.class))
+            .isSameAs(serializationService.writerForListOf(UserResponseDto.class));
+        assertThat(serializationService.xmlWriterFor(UserResponseDto.class))
+            .isSameAs(serializationService.writerFor(OutputFormat.XML, UserResponseDto.class))
+            .isNotSameAs(serializationService.writerFor(UserResponseDto.class));
+    }
+
+    @Test
+    void jsonAndXmlShareTheJavaTimeConfiguration() throws Exception {
+        UserResponseDto user = new UserResponseDto(1L, "Ana", "ana@example.com", "import", CREATED_AT, CREATED_AT);
+
+        String json = serializationService.writerFor(UserResponseDto.class).writeValueAsString(user);
+        String xml = serializationService.xmlWriterFor(UserResponseDto.class).writeValueAsString(user);
+
+        assertThat(json).contains("\"createdAt\":\"2024-03-01T12:30:15\"");
+        assertThat(xml).contains("<createdAt>2024-03-01T12:30:15</createdAt>");
+    }
+
+    @Test
+    void cachedReaderRoundTripsWhatTheCachedWriterProduces() throws Exception {
+        List<UserResponseDto> users = List.of(
+            new UserResponseDto(1L, "Ana", "ana@example.com", "import", CREATED_AT, null),
+            new UserResponseDto(2L, "Bruno", "bruno@example.com", "import", CREATED_AT, null));
+
+        byte[] json = serializationService.writerForListOf(UserResponseDto.class).writeValueAsBytes(users);
+        UserResponseDto[] read = serializationService.readerFor(UserResponseDto[].class).readValue(json);
+
+        assertThat(read).extracting(UserResponseDto::getEmail).containsExactly("ana@example.com", "bruno@example.com");
+        assertThat(read[0].getCreatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void jsonFileProcessorParsesWithTheSharedFactory() throws Exception {
+        JsonFileProcessor processor = new JsonFileProcessor(serializationService);
+        byte[] content = "[{\"name\":\"Ana\",\"email\":\"ana@example.com\"},{\"name\":\"Bruno\",\"email\":\"bruno@example.com\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+        List<UserDto> users = new ArrayList<>();
+        processor.processStream(new ByteArrayInputStream(content), (user, lineNumber, line) -> users.add(user));
+
+        assertThat(users).extracting(UserDto::getEmail).containsExactly("ana@example.com", "bruno@example.com");
+    }
+}
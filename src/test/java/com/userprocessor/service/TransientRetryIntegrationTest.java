@@ -0,0 +1,136 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.repository.UserRepository;
+import com.userprocessor.support.FaultInjectingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.processing.insert-batch-size=100",
+    "app.processing.adaptive-batch-size=false",
+    "app.processing.transient-retry-backoff-ms=1",
+    "app.processing.transient-retry-max-backoff-ms=5"
+})
+class TransientRetryIntegrationTest {
+
+    private static final String INSERT_SQL = "INSERT INTO users";
+    private static final String LOOKUP_SQL = "WHERE email IN";
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        faults().reset();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"40P01", "55P03"})
+    void retriesEveryInsertChunkAfterAFailureASavepointRecovers(String sqlState) throws Exception {
+        FaultInjectingDataSource.Fault fault = faults().inject(INSERT_SQL, sqlState, execution -> execution % 2 == 1);
+
+        ProcessingResult result = ingest(ValidationMode.STRICT);
+
+        assertThat(fault.getFailures()).isGreaterThanOrEqualTo(ROWS / 100);
+        assertThat(fault.getExecutions()).isEqualTo(2 * fault.getFailures());
+        assertThat(result.getRetries()).isEqualTo(fault.getFailures());
+        assertThat(result.getErrorRecords()).isZero();
+        assertThat(result.getProcessedRecords()).isEqualTo(ROWS);
+        assertThat(userRepository.count()).isEqualTo(ROWS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"40001", "08006"})
+    void doesNotRetryInsertFailuresThatEndTheTransaction(String sqlState) throws Exception {
+        FaultInjectingDataSource.Fault fault = faults().inject(INSERT_SQL, sqlState, execution -> execution == 1);
+
+        ProcessingResult result = ingest(ValidationMode.PARTIAL);
+
+        assertThat(fault.getFailures()).isEqualTo(1);
+        assertThat(result.getRetries()).isNull();
+        assertThat(result.getErrorRecords()).isPositive();
+        assertThat(result.getProcessedRecords() + result.getErrorRecords()).isEqualTo(ROWS);
+        assertThat(userRepository.count()).isEqualTo(result.getProcessedRecords());
+    }
+
+    @Test
+    void retriesEveryLookupChunkAfterAConnectionFailure() throws Exception {
+        FaultInjectingDataSource.Fault fault = faults().inject(LOOKUP_SQL, "08006", execution -> execution % 2 == 1);
+
+        ProcessingResult result = ingest(ValidationMode.STRICT);
+
+        assertThat(fault.getFailures()).isGreaterThanOrEqualTo(ROWS / 100);
+        assertThat(fault.getExecutions()).isEqualTo(2 * fault.getFailures());
+        assertThat(result.getRetries()).isEqualTo(fault.getFailures());
+        assertThat(result.getErrorRecords()).isZero();
+        assertThat(result.getProcessedRecords()).isEqualTo(ROWS);
+        assertThat(userRepository.count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void reportsOnlyTheChunkThatKeepsFailingAsErrors() throws Exception {
+        FaultInjectingDataSource.Fault fault = faults().inject(INSERT_SQL, "40P01",
+            execution -> execution >= 3 && execution <= 6);
+
+        ProcessingResult result = ingest(ValidationMode.PARTIAL);
+
+        assertThat(fault.getFailures()).isEqualTo(4);
+        assertThat(result.getRetries()).isEqualTo(3);
+        assertThat(result.getErrorRecords()).isPositive();
+        assertThat(result.getProcessedRecords() + result.getErrorRecords()).isEqualTo(ROWS);
+        assertThat(userRepository.count()).isEqualTo(result.getProcessedRecords());
+    }
+
+    private FaultInjectingDataSource faults() {
+        return (FaultInjectingDataSource) dataSource;
+    }
+
+    private ProcessingResult ingest(ValidationMode validationMode) throws Exception {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 1; i <= ROWS; i++) {
+            csv.append("User ").append(i).append(",user").append(i).append("@example.com\n");
+        }
+        return userService.processUploadStream(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+            "csv", CompressionType.NONE, new IngestOptions(ResponseMode.SUMMARY, validationMode));
+    }
+
+    @TestConfiguration
+    static class FaultInjectionConfig {
+
+        @Bean
+        static BeanPostProcessor faultInjectingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) ? new FaultInjectingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.IngestOptions;
+import com.userprocessor.dto.ProcessingResult;
+import com.userprocessor.dto.UserDto;
+import com.userprocessor.entity.User;
+import com.userprocessor.enums.CompressionType;
+import com.userprocessor.enums.ResponseMode;
+import com.userprocessor.enums.ValidationMode;
+import com.userprocessor.exception.FileProcessingException;
+import com.userprocessor.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "app.processing.insert-batch-size=100",
+    "app.processing.adaptive-batch-size=false",
+    "app.processing.allow-empty-fields=true"
+})
+class UserServiceIngestTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void storesEveryValidRowAcrossBatchesWithDecodedAndTrimmedFields() throws Exception {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 1; i <= 1050; i++) {
+            if (i % 100 == 0) {
+                csv.append("Invalid ").append(i).append(",not-an-email\n");
+            } else if (i % 101 == 0) {
+                csv.append("Duplicate ").append(i).append(",user1@example.com\n");
+            } else {
+                csv.append("  João Conceição ").append(i).append("  , user").append(i).append("@example.com \n");
+            }
+        }
+
+        ProcessingResult result = ingest(csv.toString(), ValidationMode.PARTIAL);
+
+        assertThat(result.getTotalRecords()).isEqualTo(1050);
+        assertThat(result.getRejectedRecords()).isEqualTo(10);
+        assertThat(result.getSkippedRecords()).isEqualTo(10);
+        assertThat(result.getProcessedRecords()).isEqualTo(1030);
+        assertThat(userRepository.count()).isEqualTo(1030);
+
+        User user = userRepository.findByEmail("user1049@example.com").orElseThrow();
+        assertThat(user.getName()).isEqualTo("João Conceição 1049");
+    }
+
+    @Test
+    void strictModeRollsBackRowsFromEarlierBatches() {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 1; i <= 450; i++) {
+            csv.append("User ").append(i).append(",user").append(i).append(i == 420 ? "@invalid" : "@example.com")
+                .append('\n');
+        }
+
+        assertThatThrownBy(() -> ingest(csv.toString(), ValidationMode.STRICT))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessageContaining("421");
+        assertThat(userRepository.count()).isZero();
+    }
+
+    @Test
+    void storesMissingOrBlankNamesAsEmptyWhenEmptyFieldsAreAllowed() throws Exception {
+        ProcessingResult csv = ingest("name,email\n   ,blank@example.com\nNamed,named@example.com\n",
+            ValidationMode.STRICT);
+        ProcessingResult json = ingest("[{\"email\": \"missing@example.com\"}, {\"name\": null, " +
+            "\"email\": \"null@example.com\"}]", "json", ValidationMode.STRICT);
+        User created = userService.createUser(new UserDto(null, "created@example.com"));
+
+        assertThat(csv.getProcessedRecords()).isEqualTo(2);
+        assertThat(json.getProcessedRecords()).isEqualTo(2);
+        assertThat(created.getName()).isEmpty();
+        for (String email : new String[]{"blank", "missing", "null", "created"}) {
+            assertThat(userRepository.findByEmail(email + "@example.com").orElseThrow().getName()).isEmpty();
+        }
+    }
+
+    private ProcessingResult ingest(String csv, ValidationMode validationMode) throws Exception {
+        return ingest(csv, "csv", validationMode);
+    }
+
+    private ProcessingResult ingest(String content, String fileType, ValidationMode validationMode) throws Exception {
+        return userService.processUploadStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+            fileType, CompressionType.NONE, new IngestOptions(ResponseMode.SUMMARY, validationMode));
+    }
+}
@@ -0,0 +1,90 @@
+package com.userprocessor.service;
+
+import com.userprocessor.dto.UserResponseDto;
+import com.userprocessor.repository.UserBatchRepository;
+import com.userprocessor.repository.UserRepository;
+import com.userprocessor.sort.UserSortOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.processing.sort-run-size=7",
+    "app.processing.sort-merge-fan-in=2"
+})
+class UserSortOrderConsistencyTest {
+
+    private static final String[] NAMES = {"alice", "Alice", "ALICE", "Émile", "emile", "Zoë", "zoe", "Ångström",
+        "Bob", "bob", "Ärger", "Øystein", "Zed", "İlkay", "中村", "O'Brien", "Ştefan", "ångström", "Chloé", "chloe"};
+    private static final String[] SOURCES = {"csv", "json", "xml"};
+    private static final int PAGE_SIZE = 6;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBatchRepository userBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int batch = 0; batch < 3; batch++) {
+            List<String> names = new ArrayList<>();
+            List<String> emails = new ArrayList<>();
+            List<String> sources = new ArrayList<>();
+            for (int i = 0; i < NAMES.length; i++) {
+                names.add(NAMES[(i * 7 + batch) % NAMES.length]);
+                emails.add((i % 2 == 0 ? "User" : "user") + batch + "." + i + "@Example.com");
+                sources.add(SOURCES[(i + batch) % SOURCES.length]);
+            }
+            userBatchRepository.insertAll(names, emails, sources, start.plusHours(batch));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"name", "-name", "name,email", "-name,-id", "source,-createdAt", "source,name", "email",
+        "-email", "id", "createdAt,name"})
+    void jsonPagesAndExportsReturnTheSameOrder(String sort) throws Exception {
+        UserSortOrder order = UserSortOrder.parse(sort);
+
+        List<UserResponseDto> pages = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            Page<UserResponseDto> users = userService.getAllUsers(page, PAGE_SIZE, order);
+            pages.addAll(users.getContent());
+            if (!users.hasNext()) {
+                break;
+            }
+        }
+
+        List<UserResponseDto> export = new ArrayList<>();
+        userService.forEachUser(order, export::add);
+
+        List<UserResponseDto> expected = new ArrayList<>(export);
+        expected.sort(order.comparator());
+
+        assertThat(ids(pages)).hasSize(NAMES.length * 3).isEqualTo(ids(export)).isEqualTo(ids(expected));
+    }
+
+    private static List<Long> ids(List<UserResponseDto> users) {
+        return users.stream().map(UserResponseDto::getId).collect(Collectors.toList());
+    }
+}
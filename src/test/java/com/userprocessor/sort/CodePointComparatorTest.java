@@ -0,0 +1,48 @@
+package com.userprocessor.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodePointComparatorTest {
+
+    private static final int[] CODE_POINTS = {'A', 'Z', 'a', 'z', '0', ' ', 0xE9, 0xC9, 0x4E2D, 0xD7FF, 0xE000, 0xFB01,
+        0xFFFD, 0x1D49C, 0x1F600, 0x10FFFF};
+
+    @Test
+    void ordersByCodePointAndMatchesUtf8ByteOrder() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String a = randomString(random);
+            String b = randomString(random);
+
+            int expected = Integer.signum(Arrays.compare(a.codePoints().toArray(), b.codePoints().toArray()));
+            assertThat(Integer.signum(CodePointComparator.INSTANCE.compare(a, b))).as("%s vs %s", a, b)
+                .isEqualTo(expected)
+                .isEqualTo(Integer.signum(Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8),
+                    b.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    @Test
+    void sortsSupplementaryCharactersAfterTheRestOfTheBasicPlane() {
+        assertThat(CodePointComparator.INSTANCE.compare("\uD83D\uDE00", "\uFFFD")).isPositive();
+        assertThat("\uD83D\uDE00".compareTo("\uFFFD")).isNegative();
+        assertThat(CodePointComparator.INSTANCE.compare("Zoe", "adam")).isNegative();
+        assertThat(CodePointComparator.INSTANCE.compare("zoe", "\u00C9mile")).isNegative();
+        assertThat(CodePointComparator.INSTANCE.compare("abc", "ab")).isPositive();
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(CODE_POINTS[random.nextInt(CODE_POINTS.length)]);
+        }
+        return builder.toString();
+    }
+}
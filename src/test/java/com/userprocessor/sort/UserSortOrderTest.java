@@ -0,0 +1,27 @@
+package com.userprocessor.sort;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSortOrderTest {
+
+    @Test
+    void treatsEmailAsIndexedOnlyWhenTextIndexesMatchTheSortCollation() {
+        assertThat(UserSortOrder.parse("email").isIndexed(true)).isTrue();
+        assertThat(UserSortOrder.parse("-email,name").isIndexed(true)).isTrue();
+        assertThat(UserSortOrder.parse("email").isIndexed(false)).isFalse();
+        assertThat(UserSortOrder.parse("-email,name").isIndexed(false)).isFalse();
+        assertThat(UserSortOrder.parse("id").isIndexed(false)).isTrue();
+        assertThat(UserSortOrder.parse("-id,email").isIndexed(false)).isTrue();
+        assertThat(UserSortOrder.parse("name,id").isIndexed(true)).isFalse();
+        assertThat(UserSortOrder.parse("").isIndexed(true)).isFalse();
+    }
+
+    @Test
+    void leavesOutTheIdTieBreakWhenTheFirstKeyIsUnique() {
+        assertThat(UserSortOrder.parse("-email").toSql(" COLLATE \"C\"")).isEqualTo("email COLLATE \"C\" DESC");
+        assertThat(UserSortOrder.parse("name,-createdAt").toSql(" COLLATE \"C\""))
+            .isEqualTo("name COLLATE \"C\", created_at DESC, id");
+    }
+}
@@ -0,0 +1,128 @@
+package com.userprocessor.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+public class FaultInjectingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS =
+        Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final List<Fault> faults = new CopyOnWriteArrayList<>();
+
+    public FaultInjectingDataSource(DataSource target) {
+        super(target);
+    }
+
+    public Fault inject(String sqlFragment, String sqlState, IntPredicate failOnExecution) {
+        Fault fault = new Fault(sqlFragment, sqlState, failOnExecution);
+        faults.add(fault);
+        return fault;
+    }
+
+    public void reset() {
+        faults.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (!method.getName().startsWith("prepare") || !(args[0] instanceof String)) {
+                return result;
+            }
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, statement(result, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, statement(result, (String) args[0]));
+            }
+            return result;
+        });
+    }
+
+    private Handler statement(Object statement, String sql) {
+        return (method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                for (Fault fault : faults) {
+                    fault.apply(sql);
+                }
+            }
+            return invoke(statement, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> handler.handle(method, args)));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    public static class Fault {
+
+        private final String sqlFragment;
+        private final String sqlState;
+        private final IntPredicate failOnExecution;
+        private final AtomicInteger executions = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Fault(String sqlFragment, String sqlState, IntPredicate failOnExecution) {
+            this.sqlFragment = sqlFragment;
+            this.sqlState = sqlState;
+            this.failOnExecution = failOnExecution;
+        }
+
+        void apply(String sql) throws SQLException {
+            if (!sql.contains(sqlFragment)) {
+                return;
+            }
+            if (failOnExecution.test(executions.incrementAndGet())) {
+                failures.incrementAndGet();
+                throw new SQLException("Injected failure with SQL state " + sqlState, sqlState);
+            }
+        }
+
+        public int getExecutions() {
+            return executions.get();
+        }
+
+        public int getFailures() {
+            return failures.get();
+        }
+    }
+}
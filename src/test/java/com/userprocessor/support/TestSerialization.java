@@ -0,0 +1,49 @@
+package com.userprocessor.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.userprocessor.enums.OutputFormat;
+import com.userprocessor.service.SerializationService;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class TestSerialization {
+
+    private TestSerialization() {
+    }
+
+    public static SerializationService serializationService() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = mock(ObjectProvider.class);
+        when(builders.getObject()).thenAnswer(invocation -> builder());
+        return new SerializationService(builder().build(), builders);
+    }
+
+    public static ObjectMapper mapper(OutputFormat format) {
+        switch (format) {
+            case SMILE:
+                return builder().factory(new SmileFactory()).build();
+            case CBOR:
+                return builder().factory(new CBORFactory()).build();
+            case MSGPACK:
+                return builder().factory(new MessagePackFactory()).build();
+            case JSON:
+                return builder().build();
+            default:
+                throw new IllegalArgumentException("No Jackson mapper for output format: " + format);
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule());
+    }
+}
@@ -0,0 +1,102 @@
+package com.userprocessor.util;
+
+import com.userprocessor.enums.FileType;
+import com.userprocessor.exception.FileProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentSnifferTest {
+
+    private static final String[] NAMES = {"João Conceição", "Иван Петров", "Zoë Müller", "李小龙"};
+
+    @Test
+    void detectsCsvWithMultibyteNames() throws Exception {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(name(i)).append(",user").append(i).append("@example.com\n");
+        }
+
+        assertDetected(csv.toString(), FileType.CSV);
+    }
+
+    @Test
+    void detectsJsonWithMultibyteNames() throws Exception {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < 100; i++) {
+            json.append("  {\"name\": \"").append(name(i)).append("\", \"email\": \"user").append(i)
+                .append("@example.com\"},\n");
+        }
+
+        assertDetected(json.toString(), FileType.JSON);
+    }
+
+    @Test
+    void detectsNdjsonWithMultibyteNames() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            ndjson.append("{\"name\":\"").append(name(i)).append("\",\"email\":\"user").append(i)
+                .append("@example.com\",\"tags\":{\"note\":\"} \\\" {\"}}\n");
+        }
+
+        assertDetected(ndjson.toString(), FileType.NDJSON);
+    }
+
+    @Test
+    void detectsXmlWithMultibyteNames() throws Exception {
+        StringBuilder xml = new StringBuilder("<users>\n");
+        for (int i = 0; i < 100; i++) {
+            xml.append("  <user><name>").append(name(i)).append("</name><email>user").append(i)
+                .append("@example.com</email></user>\n");
+        }
+
+        assertDetected(xml.toString(), FileType.XML);
+        assertDetected("<пользователи><user/></пользователи>", FileType.XML);
+    }
+
+    @Test
+    void prettyPrintedObjectIsNotMistakenForNdjson() {
+        String json = "{\n  \"users\": [\n    {\"name\": \"Ana\", \"email\": \"ana@example.com\"}\n  ]\n}\n";
+
+        assertThat(ContentSniffer.detectFileType(bytes(json))).isEqualTo(FileType.JSON);
+        assertThat(ContentSniffer.detectFileType(bytes("{\"name\":\"Ana\",\"email\":\"ana@example.com\"}")))
+            .isEqualTo(FileType.NDJSON);
+    }
+
+    @Test
+    void binaryContentIsStillRejected() {
+        byte[] binary = new byte[4096];
+        new Random(7).nextBytes(binary);
+        binary[0] = 'x';
+
+        assertThat(ContentSniffer.detectFileType(binary)).isNull();
+        assertThatThrownBy(() -> ContentSniffer.resolveFileType(FileType.CSV, binary))
+            .isInstanceOf(FileProcessingException.class)
+            .hasMessage("File content is not a valid CSV file");
+    }
+
+    private static void assertDetected(String content, FileType expected) throws Exception {
+        byte[] head = head(bytes(content));
+        assertThat(ContentSniffer.detectFileType(head)).isEqualTo(expected);
+        assertThat(ContentSniffer.resolveFileType(expected, head)).isEqualTo(expected);
+        assertThat(ContentSniffer.resolveFileType(null, head)).isEqualTo(expected);
+    }
+
+    private static byte[] head(byte[] content) {
+        byte[] head = new byte[Math.min(content.length, ContentSniffer.SNIFF_LENGTH)];
+        System.arraycopy(content, 0, head, 0, head.length);
+        return head;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String name(int i) {
+        return NAMES[i % NAMES.length];
+    }
+}
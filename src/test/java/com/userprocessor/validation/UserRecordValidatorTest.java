@@ -0,0 +1,76 @@
+package com.userprocessor.validation;
+
+import com.userprocessor.config.ProcessingConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRecordValidatorTest {
+
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final String ALPHABET = "abcXYZ019+_.-@ !é";
+
+    @Test
+    void reportsTheFirstProblemAsACode() {
+        UserRecordValidator validator = validator(true, false);
+
+        assertThat(validator.validate("Ana", "ana@example.com")).isEqualTo(ValidationCode.VALID);
+        assertThat(validator.validate(" ", "ana@example.com")).isEqualTo(ValidationCode.NAME_REQUIRED);
+        assertThat(validator.validate("Ana", null)).isEqualTo(ValidationCode.EMAIL_REQUIRED);
+        assertThat(validator.validate("Ana", "ana@example")).isEqualTo(ValidationCode.EMAIL_INVALID);
+        assertThat(validator.validate("a".repeat(256), "ana@example.com")).isEqualTo(ValidationCode.NAME_TOO_LONG);
+        assertThat(validator.validate("Ana", "a".repeat(250) + "@example.com")).isEqualTo(ValidationCode.EMAIL_TOO_LONG);
+    }
+
+    @Test
+    void honoursTheProcessingFlags() {
+        UserRecordValidator lenient = validator(false, true);
+
+        assertThat(lenient.validate("", "not-an-email")).isEqualTo(ValidationCode.VALID);
+        assertThat(lenient.validate("", "")).isEqualTo(ValidationCode.EMAIL_REQUIRED);
+    }
+
+    @Test
+    void emailScannerAcceptsExactlyWhatTheRegexAccepted() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String email = randomEmail(random);
+            assertThat(UserRecordValidator.isValidEmail(email))
+                .as(email)
+                .isEqualTo(EMAIL_REGEX.matcher(email).matches());
+        }
+    }
+
+    private static String randomEmail(Random random) {
+        StringBuilder email = new StringBuilder();
+        append(email, random, 1 + random.nextInt(6));
+        if (random.nextInt(10) > 0) {
+            email.append('@');
+        }
+        append(email, random, random.nextInt(6));
+        if (random.nextInt(10) > 1) {
+            email.append('.');
+        }
+        for (int i = random.nextInt(4); i > 0; i--) {
+            email.append((char) ('a' + random.nextInt(26)));
+        }
+        append(email, random, random.nextInt(3) == 0 ? 1 : 0);
+        return email.toString();
+    }
+
+    private static void append(StringBuilder builder, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+    }
+
+    private static UserRecordValidator validator(boolean validateEmailFormat, boolean allowEmptyFields) {
+        ProcessingConfig config = new ProcessingConfig();
+        config.setValidateEmailFormat(validateEmailFormat);
+        config.setAllowEmptyFields(allowEmptyFields);
+        return new UserRecordValidator(config);
+    }
+}